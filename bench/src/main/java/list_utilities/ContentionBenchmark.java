@@ -0,0 +1,124 @@
+/**********************************************
+ * ContentionBenchmark.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@link ContentionBenchmark} class measures the throughput of one set
+ * shared by every benchmark thread, each of which checks membership nine
+ * times out of ten and otherwise adds or removes an element. It compares a
+ * {@link ConcurrentListSet} and a {@link StripedIntSet} with a
+ * {@link SortedListSet} guarded by a single lock.
+ *
+ * The number of threads is set with -t; run it once for each count to
+ * compare:
+ *
+ * Usage: java -jar bench/target/benchmarks.jar ContentionBenchmark -t 1
+ *
+ * Usage: java -jar bench/target/benchmarks.jar ContentionBenchmark -t 64
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ContentionBenchmark {
+
+	/** instance variables */
+	private static final int SIZE = 1000;
+
+	@Benchmark
+	public boolean mixed(Shared shared, Worker worker) {
+		Integer d = worker.random.nextInt(SIZE);
+		int op = worker.random.nextInt(20);
+		if (shared.locked) {
+			synchronized (shared.set) {
+				return call(shared.set, op, d);
+			}
+		}
+		return call(shared.set, op, d);
+	}
+
+	/**
+	 * Makes one call of the mixed workload: an add or a remove one time in
+	 * twenty each, and a membership check otherwise.
+	 *
+	 * @return true if the call was a membership check that found d
+	 */
+	private static boolean call(Set<Integer> set, int op, Integer d) {
+		if (op == 0)
+			set.add(d);
+		else if (op == 1)
+			set.remove(d);
+		else
+			return set.isMember(d);
+		return false;
+	}
+
+	/**
+	 * The {@link Shared} class holds the set every thread works on, filled
+	 * with every other int below the size.
+	 */
+	@State(Scope.Benchmark)
+	public static class Shared {
+
+		/** instance variables */
+		@Param({ "lock-free", "striped", "locked" })
+		String kind;
+		Set<Integer> set;
+		boolean locked;
+
+		@Setup
+		public void setUp() {
+			ImmutableList<Integer> initial = ImmutableList.nil();
+			for (int i = SIZE - 1; i >= 0; i -= 2)
+				initial = initial.push(i);
+			locked = kind.equals("locked");
+			if (kind.equals("lock-free"))
+				set = new ConcurrentListSet<Integer>(initial);
+			else if (locked)
+				set = new SortedListSet<Integer>(initial);
+			else {
+				StripedIntSet striped = new StripedIntSet();
+				for (ImmutableList<Integer> l = initial; !l.isEmpty(); l = l
+						.tail())
+					striped.add(l.head());
+				set = striped;
+			}
+		}
+	}
+
+	/**
+	 * The {@link Worker} class holds each thread's own random numbers.
+	 */
+	@State(Scope.Thread)
+	public static class Worker {
+
+		/** instance variables */
+		Random random;
+
+		@Setup
+		public void setUp() {
+			random = new Random(Thread.currentThread().getId());
+		}
+	}
+}
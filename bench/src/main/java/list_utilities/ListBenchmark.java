@@ -0,0 +1,219 @@
+/**********************************************
+ * ListBenchmark.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@link ListBenchmark} class is the JMH benchmark of the list and set
+ * operations of the ListUtilities package: push, append, reverse, nth, find,
+ * delete, insert, purge and mergesort on an {@link ImmutableList}, and
+ * isMember, union and intersection on a {@link ListSet}. Every operation is
+ * measured on lists of 10 up to 1,000,000 elements in four distributions:
+ * sorted, reversed, random and duplicate-heavy.
+ *
+ * {@link ListSet#intersection(Set)} looks every element up in a list, so it
+ * is quadratic; one call on 100,000 elements takes minutes. It is measured on
+ * its own {@link SmallFixture}, which stops at 10,000 elements.
+ *
+ * Run it from the benchmarks jar, with the GC profiler to report the bytes
+ * allocated per call, and -p to pick sizes or distributions:
+ *
+ * Usage: java -jar bench/target/benchmarks.jar ListBenchmark -prof gc
+ *
+ * Usage: java -jar bench/target/benchmarks.jar ListBenchmark.mergesort
+ * -p size=1000,100000 -p distribution=random -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBenchmark {
+
+	@Benchmark
+	public ImmutableList<Integer> push(LargeFixture f) {
+		return f.list.push(f.present);
+	}
+
+	@Benchmark
+	public ImmutableList<Integer> append(LargeFixture f) {
+		return f.list.append(f.otherList);
+	}
+
+	@Benchmark
+	public ImmutableList<Integer> reverse(LargeFixture f) {
+		return f.list.reverse();
+	}
+
+	@Benchmark
+	public Integer nth(LargeFixture f) {
+		return f.list.nth(f.last);
+	}
+
+	@Benchmark
+	public ImmutableList<Integer> find(LargeFixture f) {
+		return f.list.find(f.absent);
+	}
+
+	@Benchmark
+	public ImmutableList<Integer> delete(LargeFixture f) {
+		return f.list.delete(f.present);
+	}
+
+	@Benchmark
+	public ImmutableList<Integer> insert(LargeFixture f) {
+		return f.list.insert(f.present);
+	}
+
+	@Benchmark
+	public ImmutableList<Integer> purge(LargeFixture f) {
+		return f.list.purge();
+	}
+
+	@Benchmark
+	public ImmutableList<Integer> mergesort(LargeFixture f) {
+		return f.list.mergesort();
+	}
+
+	@Benchmark
+	public boolean isMember(LargeFixture f) {
+		return f.set.isMember(f.absent);
+	}
+
+	@Benchmark
+	public Set<Integer> union(LargeFixture f) {
+		return f.set.union(f.otherSet);
+	}
+
+	@Benchmark
+	public Set<Integer> intersection(SmallFixture f) {
+		return f.set.intersection(f.otherSet);
+	}
+
+	/**
+	 * Creates the ints of a distribution.
+	 *
+	 * @param dist
+	 *            sorted, reversed, random or duplicates
+	 * @param size
+	 *            the number of ints
+	 * @param offset
+	 *            added to every int
+	 * @param seed
+	 *            the seed for the random distributions
+	 * @return the ints
+	 */
+	public static int[] distribution(String dist, int size, int offset,
+			long seed) {
+		Random random = new Random(seed);
+		int[] values = new int[size];
+		for (int i = 0; i < size; i++) {
+			if (dist.equals("sorted"))
+				values[i] = i;
+			else if (dist.equals("reversed"))
+				values[i] = size - 1 - i;
+			else if (dist.equals("random"))
+				values[i] = random.nextInt(4 * size);
+			else if (dist.equals("duplicates"))
+				values[i] = random.nextInt(Math.max(1, size / 10));
+			else
+				throw new IllegalArgumentException("Unknown distribution: "
+						+ dist);
+			values[i] += offset;
+		}
+		return values;
+	}
+
+	/**
+	 * The {@link Fixture} class holds the inputs of one measurement: a list in
+	 * some distribution, a second list of the same distribution overlapping
+	 * half of it, sets of both, and one element that is in the list and one
+	 * that is not.
+	 */
+	public static class Fixture {
+
+		/** instance variables */
+		ImmutableList<Integer> list;
+		ImmutableList<Integer> otherList;
+		ListSet<Integer> set;
+		ListSet<Integer> otherSet;
+		Integer present;
+		Integer absent;
+		int last;
+
+		/**
+		 * Creates the inputs for a distribution and size.
+		 */
+		void setUp(String dist, int size) {
+			list = toList(distribution(dist, size, 0, 42));
+			otherList = toList(distribution(dist, size, size / 2, 43));
+			set = new ListSet<Integer>(list);
+			otherSet = new ListSet<Integer>(otherList);
+			present = list.nth(size / 2);
+			absent = Integer.valueOf(-1);
+			last = size - 1;
+		}
+
+		private static ImmutableList<Integer> toList(int[] values) {
+			ImmutableList<Integer> result = ImmutableList.nil();
+			for (int i = values.length - 1; i >= 0; i--)
+				result = result.push(values[i]);
+			return result;
+		}
+	}
+
+	/**
+	 * The {@link LargeFixture} class is the {@link Fixture} of every operation
+	 * that is at most n log n, for lists of 10 up to 1,000,000 elements.
+	 */
+	@State(Scope.Benchmark)
+	public static class LargeFixture extends Fixture {
+
+		/** instance variables */
+		@Param({ "10", "100", "1000", "10000", "100000", "1000000" })
+		int size;
+		@Param({ "sorted", "reversed", "random", "duplicates" })
+		String distribution;
+
+		@Setup
+		public void setUp() {
+			setUp(distribution, size);
+		}
+	}
+
+	/**
+	 * The {@link SmallFixture} class is the {@link Fixture} of the quadratic
+	 * intersection, for lists of 10 up to 10,000 elements.
+	 */
+	@State(Scope.Benchmark)
+	public static class SmallFixture extends Fixture {
+
+		/** instance variables */
+		@Param({ "10", "100", "1000", "10000" })
+		int size;
+		@Param({ "sorted", "reversed", "random", "duplicates" })
+		String distribution;
+
+		@Setup
+		public void setUp() {
+			setUp(distribution, size);
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/**********************************************
+ * OffHeapBenchmark.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@link OffHeapBenchmark} class compares an {@link IntSet} on the heap
+ * with an {@link OffHeapIntSet} of the same random ints: the time to build
+ * each set, to check membership, and to compute a union and an intersection.
+ * Run it with the GC profiler to see the heap bytes allocated and the time
+ * spent in garbage collection by each kind of set:
+ *
+ * Usage: java -jar bench/target/benchmarks.jar OffHeapBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OffHeapBenchmark {
+
+	/** instance variables */
+	@Param({ "1000", "100000", "1000000" })
+	int size;
+	@Param({ "heap", "off-heap" })
+	String kind;
+	int[] values;
+	int[] others;
+	Set<Integer> a;
+	Set<Integer> b;
+	int next;
+
+	@Setup
+	public void setUp() {
+		values = ListBenchmark.distribution("random", size, 0, 42);
+		others = ListBenchmark.distribution("random", size, size, 43);
+		a = build(values);
+		b = build(others);
+		next = 0;
+	}
+
+	@TearDown
+	public void tearDown() {
+		release(a);
+		release(b);
+	}
+
+	@Benchmark
+	public int build() {
+		Set<Integer> set = build(values);
+		int n = set.size();
+		release(set);
+		return n;
+	}
+
+	@Benchmark
+	public boolean isMember() {
+		int d = others[next];
+		if (++next == others.length)
+			next = 0;
+		if (a instanceof IntSet)
+			return ((IntSet) a).isMember(d);
+		return ((OffHeapIntSet) a).isMember(d);
+	}
+
+	@Benchmark
+	public int union() {
+		Set<Integer> union = a.union(b);
+		int n = union.size();
+		release(union);
+		return n;
+	}
+
+	@Benchmark
+	public int intersection() {
+		Set<Integer> intersection = a.intersection(b);
+		int n = intersection.size();
+		release(intersection);
+		return n;
+	}
+
+	/**
+	 * Builds a set of the given kind holding the ints, adding them without
+	 * boxing.
+	 */
+	private Set<Integer> build(int[] ints) {
+		if (kind.equals("heap")) {
+			IntSet set = new IntSet();
+			for (int d : ints)
+				set.add(d);
+			return set;
+		}
+		OffHeapIntSet set = new OffHeapIntSet();
+		for (int d : ints)
+			set.add(d);
+		return set;
+	}
+
+	/**
+	 * Frees the native memory of an {@link OffHeapIntSet}.
+	 */
+	private static void release(Set<Integer> set) {
+		if (set instanceof OffHeapIntSet)
+			((OffHeapIntSet) set).close();
+	}
+}
@@ -0,0 +1,113 @@
+/**********************************************
+ * StoreBenchmark.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@link StoreBenchmark} class measures restarting a {@link SetStore} of
+ * random ints: the time to create it from a snapshot, and the time to open it
+ * again after a tenth as many adds have been logged. At the end of each run it
+ * prints the size of the snapshot on disk and of the same set printed with
+ * toString().
+ *
+ * Usage: java -jar bench/target/benchmarks.jar StoreBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StoreBenchmark {
+
+	/** instance variables */
+	@Param({ "100000", "1000000", "10000000" })
+	int size;
+	RoaringSet set;
+	File created;
+	File logged;
+	long snapshotBytes;
+
+	@Setup
+	public void setUp() throws IOException {
+		set = new RoaringSet(IntImmutableList.fromArray(ListBenchmark
+				.distribution("random", size, 0, 42)));
+		created = Files.createTempDirectory("setstore").toFile();
+		logged = Files.createTempDirectory("setstore").toFile();
+		SetStore store = SetStore.create(logged.getPath(), set);
+		snapshotBytes = directorySize(logged);
+		for (int d : ListBenchmark.distribution("random", size / 10, size, 43))
+			store.add(d);
+		store.close();
+	}
+
+	@Setup(Level.Invocation)
+	public void emptyCreated() {
+		clear(created);
+	}
+
+	@TearDown
+	public void tearDown() {
+		System.out.println("set-store " + size + ": snapshot " + snapshotBytes
+				+ " bytes, toString() " + set.toString().length() + " chars");
+		clear(created);
+		clear(logged);
+		created.delete();
+		logged.delete();
+	}
+
+	@Benchmark
+	public int create() throws IOException {
+		SetStore store = SetStore.create(created.getPath(), set);
+		int n = store.size();
+		store.close();
+		return n;
+	}
+
+	@Benchmark
+	public int open() throws IOException {
+		SetStore store = SetStore.open(logged.getPath());
+		int n = store.size();
+		store.close();
+		return n;
+	}
+
+	/**
+	 * Adds up the sizes of the files in a directory.
+	 */
+	private static long directorySize(File directory) {
+		long bytes = 0;
+		for (File file : directory.listFiles())
+			bytes += file.length();
+		return bytes;
+	}
+
+	/**
+	 * Deletes the files in a directory.
+	 */
+	private static void clear(File directory) {
+		for (File file : directory.listFiles())
+			file.delete();
+	}
+}
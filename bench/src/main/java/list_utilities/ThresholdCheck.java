@@ -0,0 +1,126 @@
+/**********************************************
+ * ThresholdCheck.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+/**
+ * The {@link ThresholdCheck} class guards the {@link ListBenchmark} against
+ * regressions. It reads a file of thresholds, one "operation distribution
+ * size max-ns/op" per line, runs each of those points with JMH and the GC
+ * profiler, and prints its time and the bytes it allocates per call. It
+ * exits with status 1 if any point is slower than its threshold, if the file
+ * cannot be read, or if it lists no thresholds at all, so the regression
+ * profile of the build fails.
+ *
+ * Usage: mvn verify -Pregression [-Dthresholds=thresholds.txt]
+ */
+public class ThresholdCheck {
+
+	/** instance variables */
+	private static final TimeValue ITERATION_TIME = TimeValue
+			.milliseconds(500);
+
+	public static void main(String[] args) {
+		if (args.length != 1) {
+			IO.stderr.println("Usage: ThresholdCheck thresholds.txt");
+			System.exit(2);
+		}
+		try {
+			System.exit(check(args[0]) ? 0 : 1);
+		} catch (IOException e) {
+			IO.stderr.println("Cannot read thresholds: " + e);
+		} catch (RunnerException e) {
+			IO.stderr.println("Cannot run benchmarks: " + e);
+		}
+		System.exit(1);
+	}
+
+	/**
+	 * Measures every point listed in a thresholds file and compares it with
+	 * its threshold. Blank lines and lines starting with # are ignored.
+	 *
+	 * @param fileName
+	 *            the thresholds file
+	 * @return true if at least one point was measured and every point is
+	 *         within its threshold, false otherwise
+	 * @throws IOException
+	 *             if the file cannot be read
+	 * @throws RunnerException
+	 *             if JMH cannot run a benchmark
+	 */
+	public static boolean check(String fileName) throws IOException,
+			RunnerException {
+		boolean passed = true;
+		int measured = 0;
+		List<String> lines = Files.readAllLines(Paths.get(fileName));
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i).trim();
+			if (line.length() == 0 || line.startsWith("#"))
+				continue;
+			String[] fields = line.split("\\s+");
+			if (fields.length != 4)
+				throw new IllegalArgumentException(fileName + ":" + (i + 1)
+						+ ": expected operation distribution size max-ns/op");
+			long limit = Long.parseLong(fields[3]);
+			RunResult result = measure(fields[0], fields[1], fields[2]);
+			double nanos = result.getPrimaryResult().getScore();
+			Result<?> bytes = result.getSecondaryResults().get(
+					"gc.alloc.rate.norm");
+			boolean ok = nanos <= limit;
+			IO.stdout.println((ok ? "PASS " : "FAIL ") + fields[0] + " "
+					+ fields[1] + " " + fields[2] + " " + Math.round(nanos)
+					+ " ns/op, limit " + limit
+					+ (bytes == null ? "" : ", " + Math.round(bytes.getScore())
+							+ " bytes/op"));
+			passed &= ok;
+			measured++;
+		}
+		if (measured == 0) {
+			IO.stdout.println("FAIL no thresholds in " + fileName);
+			return false;
+		}
+		return passed;
+	}
+
+	/**
+	 * Runs one benchmark of {@link ListBenchmark} for one distribution and
+	 * size, with shorter iterations than a full run.
+	 *
+	 * @return the result of the run
+	 * @throws RunnerException
+	 *             if the operation is unknown or the run fails
+	 */
+	private static RunResult measure(String op, String dist, String size)
+			throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(ListBenchmark.class.getName() + "\\." + op + "$")
+				.param("distribution", dist).param("size", size)
+				.warmupIterations(2).warmupTime(ITERATION_TIME)
+				.measurementIterations(3).measurementTime(ITERATION_TIME)
+				.forks(1).addProfiler(GCProfiler.class)
+				.verbosity(VerboseMode.SILENT).build();
+		Collection<RunResult> results = new Runner(options).run();
+		if (results.size() != 1)
+			throw new RunnerException("No single benchmark for " + op + " "
+					+ dist + " " + size);
+		return results.iterator().next();
+	}
+}
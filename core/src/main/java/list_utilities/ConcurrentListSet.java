@@ -0,0 +1,243 @@
+/**********************************************
+ * ConcurrentListSet.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The {@link ConcurrentListSet} class is a thread-safe {@link Set} that needs
+ * no locks. Its elements are kept in a sorted {@link ImmutableList} without
+ * duplicates, as in a {@link SortedListSet}, and the set only holds an
+ * {@link AtomicReference} to the current list.
+ *
+ * A reader takes the current list as a snapshot with a single read and works
+ * on it, so reads are wait-free and always see a consistent set, however many
+ * writers there are. A writer builds the new list from the current one,
+ * sharing the part after the changed element, and installs it with
+ * compareAndSet; if another writer installed a list first, it retries against
+ * that one. union and intersection are computed against snapshots of both
+ * sets.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+
+public class ConcurrentListSet<T> implements Set<T> {
+
+	/** instance variables */
+	private final AtomicReference<ImmutableList<T>> root;
+	private final Comparator<? super T> comparator;
+
+	/** constructor */
+	public ConcurrentListSet() {
+		this(ListSort.NATURAL_ORDER);
+	}
+
+	/**
+	 * Creates an empty ConcurrentListSet ordered by a {@link Comparator}.
+	 *
+	 * @param c
+	 *            the order to keep the elements in
+	 */
+	public ConcurrentListSet(Comparator<? super T> c) {
+		root = new AtomicReference<ImmutableList<T>>(ImmutableList.<T> nil());
+		comparator = c;
+	}
+
+	/**
+	 * Creates a ConcurrentListSet holding the elements of an
+	 * {@link ImmutableList} of {@link Comparable} elements, in their natural
+	 * order. The list does not need to be sorted and may contain duplicates.
+	 *
+	 * @param a
+	 *            the elements of the set
+	 */
+	public ConcurrentListSet(ImmutableList<T> a) {
+		this(ListSort.NATURAL_ORDER);
+		root.set(new SortedListSet<T>(a, comparator).getList());
+	}
+
+	/**
+	 * Takes a consistent snapshot of this set. Later changes to this set do
+	 * not affect the snapshot, and changes to the snapshot do not affect this
+	 * set.
+	 *
+	 * @return a {@link SortedListSet} holding the current elements
+	 */
+	public SortedListSet<T> snapshot() {
+		return SortedListSet.fromSorted(root.get(), comparator);
+	}
+
+	/**
+	 * Calculates the size of the set.
+	 *
+	 * @return int representing the number of elements in the set
+	 */
+	public int size() {
+		return root.get().length();
+	}
+
+	/**
+	 * Checks if the set is empty or not.
+	 *
+	 * @return true if the set is empty, false if the set is not empty
+	 */
+	public boolean isEmpty() {
+		return root.get().isEmpty();
+	}
+
+	/**
+	 * Checks whether a specified Object is a member of the set or not. Walks
+	 * a snapshot of the list directly, stopping at the first element that is
+	 * not less than the Object, and allocates nothing. An Object the order
+	 * cannot compare with the elements is not a member.
+	 *
+	 * @param object
+	 *            the Object to check whether or not a member of the set
+	 * @return true if the Object is a member, false if the Object is not a
+	 *         member
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean isMember(Object object) {
+		ImmutableList<T> l = root.get();
+		Comparator<Object> c = (Comparator<Object>) ListSort.specialize(
+				comparator, l.head());
+		int cmp = -1;
+		try {
+			while (!l.isEmpty() && (cmp = c.compare(l.head(), object)) < 0)
+				l = l.tail();
+		} catch (ClassCastException e) {
+			return false;
+		}
+		return cmp == 0;
+	}
+
+	/**
+	 * Creates a new set with the union of a snapshot of this set and another
+	 * set. The result is a {@link SortedListSet}. Does not modify the current
+	 * set.
+	 *
+	 * @param otherSet
+	 *            set to union with
+	 * @return the union of this set and the other set
+	 */
+	public Set<T> union(Set<T> otherSet) {
+		return snapshot().union(unwrap(otherSet));
+	}
+
+	/**
+	 * Creates a new set with the intersection of a snapshot of this set and
+	 * another set. The result is a {@link SortedListSet}. Does not modify the
+	 * current set.
+	 *
+	 * @param otherSet
+	 *            set to intersect with
+	 * @return the intersection of this set and the other set
+	 */
+	public Set<T> intersection(Set<T> otherSet) {
+		return snapshot().intersection(unwrap(otherSet));
+	}
+
+	/**
+	 * Creates a copy of the current set. The copy starts out sharing this
+	 * set's list. Does not modify the current set.
+	 *
+	 * @return the copy of this set
+	 */
+	public Set<T> copy() {
+		ConcurrentListSet<T> setCopy = new ConcurrentListSet<T>(comparator);
+		setCopy.root.set(root.get());
+		return setCopy;
+	}
+
+	/**
+	 * Adds an Object to this set in its sorted place if it is not already a
+	 * member.
+	 *
+	 * @param object
+	 *            object to add
+	 */
+	public void add(T object) {
+		while (true) {
+			ImmutableList<T> current = root.get();
+			SortedListSet<T> next = SortedListSet.fromSorted(current,
+					comparator);
+			next.add(object);
+			if (next.getList() == current
+					|| root.compareAndSet(current, next.getList()))
+				return;
+		}
+	}
+
+	/**
+	 * Removes an Object from this set. Does nothing if the Object is not a
+	 * member.
+	 *
+	 * @param object
+	 *            object to delete
+	 */
+	public void remove(Object object) {
+		while (true) {
+			ImmutableList<T> current = root.get();
+			SortedListSet<T> next = SortedListSet.fromSorted(current,
+					comparator);
+			next.remove(object);
+			if (next.getList() == current
+					|| root.compareAndSet(current, next.getList()))
+				return;
+		}
+	}
+
+	/**
+	 * Returns an {@link Iterator} over a snapshot of this set.
+	 *
+	 * @return {@link Iterator} for this set
+	 */
+	public Iterator<T> iterator() {
+		return new Iterator<T>(root.get());
+	}
+
+	/**
+	 * Returns a {@link Spliterator} over a snapshot of this set, which reports
+	 * that its elements are sorted and distinct.
+	 *
+	 * @return {@link Spliterator} for this set
+	 */
+	public Spliterator<T> spliterator() {
+		return snapshot().spliterator();
+	}
+
+	/**
+	 * Creates an empty copy of this set, with the same order. Does not modify
+	 * the current set.
+	 *
+	 * @return an empty copy of this set
+	 */
+	public Set<T> empty() {
+		return new ConcurrentListSet<T>(comparator);
+	}
+
+	/**
+	 * Creates a String version of a snapshot of this set.
+	 *
+	 * @return String representing this set
+	 */
+	public String toString() {
+		return snapshot().toString();
+	}
+
+	/**
+	 * Replaces another ConcurrentListSet by a snapshot of it, so that it can
+	 * be merged like any other {@link ListSet}.
+	 */
+	private static <T> Set<T> unwrap(Set<T> otherSet) {
+		if (otherSet instanceof ConcurrentListSet)
+			return ((ConcurrentListSet<T>) otherSet).snapshot();
+		return otherSet;
+	}
+}
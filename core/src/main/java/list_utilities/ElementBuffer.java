@@ -0,0 +1,112 @@
+/**********************************************
+ * ElementBuffer.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.Arrays;
+
+/**
+ * The {@link ElementBuffer} class is the growable array behind
+ * {@link ListBuilder} and {@link ListSetBuilder}. Elements are added in place
+ * at the end, doubling the array as needed, until freeze() hands the array
+ * over to be built into a list; after that any call, including adding this
+ * buffer to another one, throws an IllegalStateException.
+ */
+
+final class ElementBuffer {
+
+	/** instance variables */
+	private final String kind;
+	private Object[] elements;
+	private int count;
+	private boolean frozen;
+
+	/**
+	 * Creates an ElementBuffer with room for the given number of elements.
+	 *
+	 * @param capacity
+	 *            the number of elements the buffer is expected to hold
+	 * @param kind
+	 *            what is being built, "list" or "set", for error messages
+	 */
+	ElementBuffer(int capacity, String kind) {
+		this.kind = kind;
+		elements = new Object[Math.max(1, capacity)];
+	}
+
+	/**
+	 * Adds an element at the end of the buffer.
+	 */
+	void add(Object d) {
+		ensureCapacity(count + 1);
+		elements[count++] = d;
+	}
+
+	/**
+	 * Adds every element of an {@link ImmutableList} at the end of the
+	 * buffer, in order.
+	 */
+	void addAll(ImmutableList<?> a) {
+		ensureCapacity(count + a.length());
+		for (; !a.isEmpty(); a = a.tail())
+			elements[count++] = a.head();
+	}
+
+	/**
+	 * Adds every element of another buffer at the end of this one, in order.
+	 * The other buffer is not changed, and may be this buffer.
+	 *
+	 * @throws IllegalStateException
+	 *             if either buffer has been frozen
+	 */
+	void addAll(ElementBuffer other) {
+		other.checkNotFrozen();
+		int n = other.count;
+		ensureCapacity(count + n);
+		System.arraycopy(other.elements, 0, elements, count, n);
+		count += n;
+	}
+
+	/**
+	 * Checks the number of elements added so far.
+	 */
+	int count() {
+		return count;
+	}
+
+	/**
+	 * Hands over the array of elements; the first count() of them are the
+	 * elements added. The buffer cannot be used afterwards.
+	 *
+	 * @throws IllegalStateException
+	 *             if the buffer has already been frozen
+	 */
+	Object[] freeze() {
+		checkNotFrozen();
+		frozen = true;
+		Object[] result = elements;
+		elements = null;
+		return result;
+	}
+
+	/**
+	 * Makes sure the array holds at least the given number of elements,
+	 * doubling it as needed.
+	 */
+	private void ensureCapacity(int capacity) {
+		checkNotFrozen();
+		if (capacity > elements.length)
+			elements = Arrays.copyOf(elements,
+					Math.max(capacity, 2 * elements.length));
+	}
+
+	/**
+	 * Throws an IllegalStateException if the buffer has been frozen.
+	 */
+	private void checkNotFrozen() {
+		if (frozen)
+			throw new IllegalStateException(kind + " already built");
+	}
+}
@@ -0,0 +1,338 @@
+/**********************************************
+ * HashSet.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+/**
+ * The {@link HashSet} class creates a HashSet object and specifies the methods
+ * that can be applied to it. It implements the {@link Set} interface. A HashSet
+ * stores its elements in an open-addressed hash table with linear probing, so
+ * that checking membership, adding and removing an element take expected
+ * constant time instead of walking the whole set.
+ *
+ * The table always has a power-of-two capacity and is doubled whenever it
+ * becomes more than half full. Removing an element shifts the rest of its
+ * probe sequence back, so the table never fills up with deleted markers.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+
+public class HashSet<T> implements Set<T> {
+
+	/** instance variables */
+	private static final int MIN_CAPACITY = 8;
+	private Object[] table;
+	private int size;
+
+	/** constructor */
+	public HashSet() {
+		table = new Object[MIN_CAPACITY];
+		size = 0;
+	}
+
+	/**
+	 * Creates an empty HashSet with room for the expected number of elements
+	 * before it has to resize.
+	 *
+	 * @param expectedSize
+	 *            the number of elements the set is expected to hold
+	 */
+	public HashSet(int expectedSize) {
+		table = new Object[capacityFor(expectedSize)];
+		size = 0;
+	}
+
+	/**
+	 * Creates a HashSet holding every element of an {@link ImmutableList}.
+	 * Duplicate elements of the list are only added once.
+	 *
+	 * @param a
+	 *            the {@link ImmutableList} whose elements are added
+	 */
+	public HashSet(ImmutableList<T> a) {
+		this(a.length());
+		addAll(a);
+	}
+
+	/**
+	 * Calculates the size of the set.
+	 *
+	 * @return int representing the number of elements in the set
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if the set is empty or not.
+	 *
+	 * @return true if the set is empty, false if the set is not empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Checks whether a specified Object is a member of the set or not.
+	 *
+	 * @param object
+	 *            the Object to check whether or not a member of the set
+	 * @return true if the Object is a member, false if the Object is not a
+	 *         member
+	 */
+	public boolean isMember(Object object) {
+		return table[slotOf(object)] != null;
+	}
+
+	/**
+	 * Creates a new set with the union of this set and another set. Does not
+	 * modify the current set.
+	 *
+	 * @param otherSet
+	 *            set to union with
+	 * @return unionSet the union of this set and the other set
+	 */
+	public Set<T> union(Set<T> otherSet) {
+		HashSet<T> unionSet = new HashSet<T>(size + otherSet.size());
+		unionSet.addAll(this);
+		unionSet.addAll(otherSet);
+		return unionSet;
+	}
+
+	/**
+	 * Creates a new set with the intersection of this set and another set. Does
+	 * not modify the current set.
+	 *
+	 * @param otherSet
+	 *            set to intersect with
+	 * @return intersectionSet intersection of this set and the other set
+	 */
+	public Set<T> intersection(Set<T> otherSet) {
+		HashSet<T> intersectionSet = new HashSet<T>(Math.min(size,
+				otherSet.size()));
+		if (otherSet instanceof HashSet) {
+			Object[] otherTable = ((HashSet<T>) otherSet).table;
+			for (int i = 0; i < otherTable.length; i++) {
+				if (otherTable[i] != null && isMember(otherTable[i]))
+					intersectionSet.add(element(otherTable[i]));
+			}
+		} else {
+			for (T d : otherSet) {
+				if (isMember(d))
+					intersectionSet.add(d);
+			}
+		}
+		return intersectionSet;
+	}
+
+	/**
+	 * Creates a copy of the current set. Does not modify the current set.
+	 *
+	 * @return setCopy the copy of this set
+	 */
+	public Set<T> copy() {
+		HashSet<T> setCopy = new HashSet<T>();
+		setCopy.table = table.clone();
+		setCopy.size = size;
+		return setCopy;
+	}
+
+	/**
+	 * Adds an Object to this set if it is not already a member.
+	 *
+	 * @param object
+	 *            object to add
+	 */
+	public void add(T object) {
+		int slot = slotOf(object);
+		if (table[slot] != null)
+			return;
+		table[slot] = object;
+		size++;
+		if (2 * size > table.length)
+			resize(2 * table.length);
+	}
+
+	/**
+	 * Removes an Object from this set. Does nothing if the Object is not a
+	 * member.
+	 *
+	 * @param object
+	 *            object to delete
+	 */
+	public void remove(Object object) {
+		int slot = slotOf(object);
+		if (table[slot] == null)
+			return;
+		table[slot] = null;
+		size--;
+		int mask = table.length - 1;
+		int hole = slot;
+		for (int i = (slot + 1) & mask; table[i] != null; i = (i + 1) & mask) {
+			int home = hash(table[i]) & mask;
+			if (((i - home) & mask) >= ((i - hole) & mask)) {
+				table[hole] = table[i];
+				table[i] = null;
+				hole = i;
+			}
+		}
+	}
+
+	/**
+	 * Returns the {@link Iterator} that will iterate through the elements of
+	 * this set.
+	 *
+	 * @return {@link Iterator} for this set
+	 */
+	public Iterator<T> iterator() {
+		return new Iterator<T>(toList());
+	}
+
+	/**
+	 * Creates an empty copy of this set. Does not modify the current set.
+	 *
+	 * @return an empty copy of this set
+	 */
+	public Set<T> empty() {
+		return new HashSet<T>();
+	}
+
+	/**
+	 * Creates an {@link ImmutableList} of the elements of this set, in no
+	 * particular order.
+	 *
+	 * @return list the elements of this set
+	 */
+	public ImmutableList<T> toList() {
+		ImmutableList<T> list = ImmutableList.nil();
+		for (int i = table.length - 1; i >= 0; i--) {
+			if (table[i] != null)
+				list = list.push(element(table[i]));
+		}
+		return list;
+	}
+
+	/**
+	 * Creates a String version of this set.
+	 *
+	 * @return String representing this set
+	 */
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		for (int i = 0; i < table.length; i++) {
+			if (table[i] != null) {
+				if (sb.length() > 1)
+					sb.append(' ');
+				sb.append(table[i]);
+			}
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * Adds every element of an {@link ImmutableList} to this set.
+	 *
+	 * @param a
+	 *            the list whose elements are added
+	 */
+	private void addAll(ImmutableList<T> a) {
+		while (!a.isEmpty()) {
+			add(a.head());
+			a = a.tail();
+		}
+	}
+
+	/**
+	 * Adds every element of another set to this set, walking the table of
+	 * another {@link HashSet} or the list of a {@link ListSet} directly and
+	 * iterating over any other set.
+	 *
+	 * @param otherSet
+	 *            the set whose elements are added
+	 */
+	private void addAll(Set<T> otherSet) {
+		if (otherSet instanceof HashSet) {
+			Object[] otherTable = ((HashSet<T>) otherSet).table;
+			for (int i = 0; i < otherTable.length; i++) {
+				if (otherTable[i] != null)
+					add(element(otherTable[i]));
+			}
+		} else if (otherSet instanceof ListSet)
+			addAll(((ListSet<T>) otherSet).getList());
+		else {
+			for (T d : otherSet)
+				add(d);
+		}
+	}
+
+	/**
+	 * Returns an element of the table as the element type. Only elements of
+	 * type T are ever stored in the table.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T element(Object d) {
+		return (T) d;
+	}
+
+	/**
+	 * Finds the slot holding an Object, or the empty slot where it would be
+	 * stored if it is not a member.
+	 *
+	 * @param object
+	 *            the Object to look for
+	 * @return int the index of the slot in the table
+	 */
+	private int slotOf(Object object) {
+		int mask = table.length - 1;
+		int i = hash(object) & mask;
+		while (table[i] != null && !object.equals(table[i]))
+			i = (i + 1) & mask;
+		return i;
+	}
+
+	/**
+	 * Moves every element into a new table of the given capacity.
+	 *
+	 * @param capacity
+	 *            the new capacity, a power of two
+	 */
+	private void resize(int capacity) {
+		Object[] oldTable = table;
+		table = new Object[capacity];
+		for (int i = 0; i < oldTable.length; i++) {
+			if (oldTable[i] != null)
+				table[slotOf(oldTable[i])] = oldTable[i];
+		}
+	}
+
+	/**
+	 * Spreads the bits of an Object's hash code so that keys differing only in
+	 * their high bits still land in different slots.
+	 *
+	 * @param object
+	 *            the Object to hash
+	 * @return int the spread hash code
+	 */
+	static int hash(Object object) {
+		int h = object.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Calculates the smallest power-of-two capacity that holds the given
+	 * number of elements while staying at most half full.
+	 *
+	 * @param expectedSize
+	 *            the number of elements to hold
+	 * @return int the capacity of the table
+	 */
+	static int capacityFor(int expectedSize) {
+		int capacity = MIN_CAPACITY;
+		while (capacity < 2 * expectedSize && capacity < (1 << 30))
+			capacity <<= 1;
+		return capacity;
+	}
+}
@@ -0,0 +1,542 @@
+/**********************************************
+ * ImmutableList.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The {@link ImmutableList} class creates an ImmutableList object and specifies
+ * the methods that can be applied to it. An ImmutableList is a list of
+ * elements of type T that cannot be modified once instantiated. It has a
+ * head, which is an element, and a tail, which is another ImmutableList.
+ * 
+ * Each cell also records the length and a structural hash code of the list
+ * that starts at it, both computed from its tail when the cell is created, so
+ * length(), hashCode() and most unequal comparisons take constant time.
+ *
+ * The sorted operations, insert, merge and mergesort, compare elements
+ * through a {@link Comparator}, or through their natural order if they are
+ * {@link Comparable}; see {@link ListSort}.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+
+public class ImmutableList<T> {
+
+	/** instance variables */
+	private final T data;
+	private final ImmutableList<T> next;
+	private final int length;
+	private final int hash;
+	public static final ImmutableList<Object> NIL = new ImmutableList<Object>(
+			null, null);
+
+	/** constructor */
+	public ImmutableList(T d, ImmutableList<T> n) {
+		data = d;
+		next = n;
+		length = (n == null) ? 0 : n.length + 1;
+		hash = (n == null) ? 1 : 31 * n.hash + (d == null ? 0 : d.hashCode());
+	}
+
+	/**
+	 * Returns the empty list, {@link #NIL}, as a list of any element type. The
+	 * empty list holds no elements, so it is the same list for every type.
+	 * 
+	 * @return the empty list
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> ImmutableList<T> nil() {
+		return (ImmutableList<T>) (ImmutableList<?>) NIL;
+	}
+
+	/**
+	 * Creates an ImmutableList with one element.
+	 * 
+	 * @param d
+	 *            element to be the head of the list
+	 * @return new ImmutableList with the element as head and an empty tail
+	 */
+	public static <T> ImmutableList<T> list(T d) {
+		return new ImmutableList<T>(d, ImmutableList.<T> nil());
+	}
+
+	/**
+	 * Pushes an element as the head of a new list whose tail is this list.
+	 * 
+	 * @param d
+	 *            an element to be pushed
+	 * @return new ImmutableList with the element pushed onto this
+	 */
+	public ImmutableList<T> push(T d) {
+		return new ImmutableList<T>(d, this);
+	}
+
+	/**
+	 * Accesses the head of a list.
+	 * 
+	 * @return data the head of an ImmutableList
+	 */
+	public T head() {
+		return data;
+	}
+
+	/**
+	 * Accesses the tail of a list.
+	 * 
+	 * @return next the tail of an ImmutableList
+	 */
+	public ImmutableList<T> tail() {
+		return next;
+	}
+
+	/**
+	 * Checks if the list is empty.
+	 * 
+	 * @return b whether or not this list is empty (has null head and tail)
+	 */
+	public boolean isEmpty() {
+		boolean b = (this == NIL);
+		return b;
+	}
+
+	/**
+	 * Checks the length of the ImmutableList. The length is stored in the cell
+	 * when it is created.
+	 * 
+	 * @return int the length of the ImmutableList
+	 */
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Returns null if the Object requested is not an element of the
+	 * ImmutableList, and returns the sublist of the ImmutableList whose head is
+	 * the element if it is an element of the ImmutableList.
+	 * 
+	 * Walks the list until it reaches the empty list or a sublist whose head
+	 * equals the requested Object.
+	 * 
+	 * @param d
+	 *            the Object to be found
+	 */
+	public ImmutableList<T> find(Object d) {
+		ImmutableList<T> l = this;
+		while (!l.isEmpty() && !d.equals(l.head()))
+			l = l.tail();
+		return l;
+	}
+
+	/**
+	 * Returns a new ImmutableList with all elements of this followed by all
+	 * elements of that. The cells of this are copied and that is shared.
+	 * 
+	 * The elements of this are gathered into an array and then pushed onto
+	 * that from last to first.
+	 * 
+	 * @param that
+	 *            the ImmutableList to be appended onto this ImmutableList
+	 */
+	public ImmutableList<T> append(ImmutableList<T> that) {
+		if (isEmpty())
+			return that;
+		Object[] elements = new Object[length()];
+		int n = 0;
+		for (ImmutableList<T> l = this; !l.isEmpty(); l = l.tail())
+			elements[n++] = l.head();
+		return prependAll(elements, n, that);
+	}
+
+	/**
+	 * Returns a list with all the elements reversed.
+	 * 
+	 * Walks the list from head to tail, pushing each element onto the result.
+	 */
+	public ImmutableList<T> reverse() {
+		if (isEmpty())
+			return this;
+		ImmutableList<T> reversed = nil();
+		for (ImmutableList<T> l = this; !l.isEmpty(); l = l.tail())
+			reversed = reversed.push(l.head());
+		return reversed;
+	}
+
+	/**
+	 * Accesses the nth element of a ImmutableList (indexed from zero).
+	 * 
+	 * Walks n cells down the list and returns the head found there, or null if
+	 * n is negative or the list has fewer than n + 1 elements.
+	 */
+	public T nth(int n) {
+		if (n < 0)
+			return null;
+		ImmutableList<T> l = this;
+		while (n > 0 && !l.isEmpty()) {
+			l = l.tail();
+			n--;
+		}
+		return l.head();
+	}
+
+	/**
+	 * Deletes all instances of the specified Object from the list.
+	 * 
+	 * Walks the list to find the last instance of d. If there is none the
+	 * list itself is returned; otherwise the elements before it that are not
+	 * equal to d are pushed onto the rest of the list, which is shared.
+	 * 
+	 * @param d
+	 *            the Object to be deleted
+	 */
+	public ImmutableList<T> delete(Object d) {
+		ImmutableList<T> lastDeleted = null;
+		for (ImmutableList<T> l = this; !l.isEmpty(); l = l.tail()) {
+			if (d.equals(l.head()))
+				lastDeleted = l;
+		}
+		if (lastDeleted == null)
+			return this;
+		Object[] elements = new Object[length() - lastDeleted.length()];
+		int n = 0;
+		for (ImmutableList<T> l = this; l != lastDeleted; l = l.tail()) {
+			if (!d.equals(l.head()))
+				elements[n++] = l.head();
+		}
+		return prependAll(elements, n, lastDeleted.tail());
+	}
+
+	/**
+	 * Inserts a {@link Comparable} element into the list in its properly
+	 * sorted place, by the natural order of the elements.
+	 * 
+	 * @param d
+	 *            the element to be inserted
+	 * @see #insert(Object, Comparator)
+	 */
+	public ImmutableList<T> insert(T d) {
+		return insert(d, ListSort.NATURAL_ORDER);
+	}
+
+	/**
+	 * Inserts an element into the list in its properly sorted place, by the
+	 * order given by a {@link Comparator}.
+	 * 
+	 * Walks past every element that d is not less than, pushes d onto the
+	 * rest of the list, and then pushes the elements walked past back on. The
+	 * rest of the list is shared.
+	 * 
+	 * @param d
+	 *            the element to be inserted
+	 * @param c
+	 *            the order the list is sorted by
+	 */
+	public ImmutableList<T> insert(T d, Comparator<? super T> c) {
+		c = ListSort.specialize(c, d);
+		Object[] elements = new Object[8];
+		int n = 0;
+		ImmutableList<T> rest = this;
+		while (!rest.isEmpty() && c.compare(d, rest.head()) >= 0) {
+			if (n == elements.length)
+				elements = Arrays.copyOf(elements, 2 * n);
+			elements[n++] = rest.head();
+			rest = rest.tail();
+		}
+		return prependAll(elements, n, rest.push(d));
+	}
+
+	/**
+	 * Pushes the first count elements of an array onto a list, so that
+	 * elements[0] becomes the head of the result.
+	 * 
+	 * @param elements
+	 *            the elements to push, head first
+	 * @param count
+	 *            the number of elements to take from the array
+	 * @param tail
+	 *            the list that follows the pushed elements
+	 * @return result the new ImmutableList
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> ImmutableList<T> prependAll(Object[] elements, int count,
+			ImmutableList<T> tail) {
+		ImmutableList<T> result = tail;
+		for (int i = count - 1; i >= 0; i--)
+			result = result.push((T) elements[i]);
+		return result;
+	}
+
+	/**
+	 * Checks whether another Object is an ImmutableList with equal elements in
+	 * the same order. Lists of different lengths or hash codes are unequal
+	 * without walking them, and the walk stops early once both lists reach a
+	 * shared cell.
+	 * 
+	 * @param o
+	 *            the Object to compare with
+	 * @return true if o is an equal ImmutableList, false otherwise
+	 */
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (!(o instanceof ImmutableList))
+			return false;
+		ImmutableList<?> a = this;
+		ImmutableList<?> b = (ImmutableList<?>) o;
+		if (a.length != b.length || a.hash != b.hash)
+			return false;
+		while (a != b) {
+			if (a.data == null ? b.data != null : !a.data.equals(b.data))
+				return false;
+			a = a.next;
+			b = b.next;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a hash code computed from the elements of the list, which is
+	 * stored in the cell when it is created.
+	 * 
+	 * @return int the hash code of the ImmutableList
+	 */
+	public int hashCode() {
+		return hash;
+	}
+
+	/**
+	 * Creates a String version of the ImmutableList.
+	 * 
+	 * @return String representing the ImmutableList
+	 */
+	public String toString() {
+		return appendTo(new StringBuilder()).toString();
+	}
+
+	/**
+	 * Writes the String version of the ImmutableList to a StringBuilder, in
+	 * one pass over the list.
+	 * 
+	 * @param sb
+	 *            the StringBuilder to write to
+	 * @return sb
+	 */
+	public StringBuilder appendTo(StringBuilder sb) {
+		try {
+			appendTo(sb, this, '(', ')');
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return sb;
+	}
+
+	/**
+	 * Writes the String version of the ImmutableList to an {@link Appendable}
+	 * such as a {@link java.io.Writer}, in one pass over the list and without
+	 * building the whole String first.
+	 * 
+	 * @param out
+	 *            the Appendable to write to
+	 * @return out
+	 * @throws IOException
+	 *             if out cannot be written to
+	 */
+	public <A extends Appendable> A appendTo(A out) throws IOException {
+		appendTo(out, this, '(', ')');
+		return out;
+	}
+
+	/**
+	 * Writes the elements of a list separated by spaces, between an opening
+	 * and a closing character.
+	 */
+	static void appendTo(Appendable out, ImmutableList<?> l, char open,
+			char close) throws IOException {
+		out.append(open);
+		for (; !l.isEmpty(); l = l.tail()) {
+			out.append(String.valueOf(l.head()));
+			if (!l.tail().isEmpty())
+				out.append(' ');
+		}
+		out.append(close);
+	}
+
+	/**
+	 * Parses a String of whitespace-separated integers into an ImmutableList.
+	 * 
+	 * @param s
+	 *            the String to be parsed
+	 * @return result the ImmutableList coming from the parsed String
+	 * @see IntReader#parseInts(CharSequence)
+	 */
+	public static ImmutableList<Integer> parseIntList(String s) {
+		int[] ints = IntReader.parseInts(s);
+		return IntReader.toList(ints, ints.length);
+	}
+
+	/**
+	 * Removes all duplicate elements of an ImmutableList, keeping the first
+	 * occurrence of each element in its original order.
+	 * 
+	 * Walks the list once, remembering the elements seen so far in a
+	 * {@link HashSet}. If there are no duplicates the list itself is returned;
+	 * otherwise the elements kept before the last duplicate are pushed onto
+	 * the rest of the list after it, which is shared.
+	 * 
+	 * @return purgedList the ImmutableList with duplicate elements removed
+	 */
+	public ImmutableList<T> purge() {
+		HashSet<T> seen = new HashSet<T>(length());
+		Object[] elements = new Object[length()];
+		int n = 0;
+		ImmutableList<T> lastDuplicate = null;
+		int keptBefore = 0;
+		for (ImmutableList<T> l = this; !l.isEmpty(); l = l.tail()) {
+			if (seen.isMember(l.head())) {
+				lastDuplicate = l;
+				keptBefore = n;
+			} else {
+				seen.add(l.head());
+				elements[n++] = l.head();
+			}
+		}
+		if (lastDuplicate == null)
+			return this;
+		return prependAll(elements, keptBefore, lastDuplicate.tail());
+	}
+
+	/**
+	 * Creates the "left side" of an ImmutableList: the elements at even
+	 * indices, in order.
+	 * 
+	 * @return left the left half of the ImmutableList.
+	 */
+	public ImmutableList<T> splitLeft() {
+		return everyOther(this);
+	}
+
+	/**
+	 * Creates the "right side" of an ImmutableList: the elements at odd
+	 * indices, in order.
+	 * 
+	 * @return right the right half of the ImmutableList.
+	 */
+	public ImmutableList<T> splitRight() {
+		return isEmpty() ? this : everyOther(tail());
+	}
+
+	/**
+	 * Collects the elements at even indices of a list in a single pass.
+	 */
+	private static <T> ImmutableList<T> everyOther(ImmutableList<T> l) {
+		Object[] elements = new Object[(l.length() + 1) / 2];
+		int n = 0;
+		while (!l.isEmpty()) {
+			elements[n++] = l.head();
+			l = l.tail();
+			if (!l.isEmpty())
+				l = l.tail();
+		}
+		return prependAll(elements, n, ImmutableList.<T> nil());
+	}
+
+	/**
+	 * Mergesorts an ImmutableList of {@link Comparable} elements into their
+	 * natural order.
+	 * 
+	 * @return a mergesorted list
+	 * @see ListSort#mergesort(ImmutableList, Comparator)
+	 */
+	public ImmutableList<T> mergesort() {
+		return ListSort.mergesort(this, ListSort.NATURAL_ORDER);
+	}
+
+	/**
+	 * Mergesorts an ImmutableList into the order given by a
+	 * {@link Comparator}. Equal elements keep their relative order.
+	 * 
+	 * @param c
+	 *            the order to sort by
+	 * @return a mergesorted list
+	 * @see ListSort#mergesort(ImmutableList, Comparator)
+	 */
+	public ImmutableList<T> mergesort(Comparator<? super T> c) {
+		return ListSort.mergesort(this, c);
+	}
+
+	/**
+	 * Merges the sorted runs [top1, top2) and [top2, out) of this list, given
+	 * as indices, into one list sorted by the natural order of its
+	 * {@link Comparable} elements.
+	 * 
+	 * @param top1
+	 *            an int representing the start of the list
+	 * @param top2
+	 *            an int representing the halfway point of the list
+	 * @param out
+	 *            an int representing the outer limit of the list
+	 * @return a merged list
+	 */
+	public ImmutableList<T> merge(int top1, int top2, int out) {
+		ImmutableList<T> l = this;
+		int i = 0;
+		for (; i < top1 && !l.isEmpty(); i++)
+			l = l.tail();
+		Object[] first = new Object[Math.max(0, top2 - top1)];
+		int m = 0;
+		for (; i < top2 && !l.isEmpty(); i++) {
+			first[m++] = l.head();
+			l = l.tail();
+		}
+		Object[] second = new Object[Math.max(0, out - top2)];
+		int n = 0;
+		for (; i < out && !l.isEmpty(); i++) {
+			second[n++] = l.head();
+			l = l.tail();
+		}
+		ImmutableList<T> empty = nil();
+		return ListSort.merge(prependAll(first, m, empty),
+				prependAll(second, n, empty), ListSort.NATURAL_ORDER);
+	}
+
+	/**
+	 * Returns a sequential {@link Stream} of the elements of this list.
+	 * 
+	 * @return Stream of the elements, in order
+	 */
+	public Stream<T> stream() {
+		return StreamSupport.stream(new ListSpliterator<T>(this, 0, null),
+				false);
+	}
+
+	/**
+	 * Returns a parallel {@link Stream} of the elements of this list. The
+	 * list is split by copying halves of it into arrays, so this only pays
+	 * off when the work done per element is large.
+	 * 
+	 * @return Stream of the elements, in order
+	 */
+	public Stream<T> parallelStream() {
+		return StreamSupport.stream(new ListSpliterator<T>(this, 0, null),
+				true);
+	}
+
+	/**
+	 * Returns a lazily evaluated {@link ListView} of this list, whose map,
+	 * filter, take and drop steps are computed in a single walk of the list.
+	 * 
+	 * @return ListView of this list
+	 */
+	public ListView<T> view() {
+		return new ListView<T>(this);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,397 @@
+/**********************************************
+ * IntImmutableList.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@link IntImmutableList} class is the int-specialized version of
+ * {@link ImmutableList}. It is a list of ints that cannot be modified once
+ * instantiated, but instead of one cons cell and one boxed Integer per element
+ * it keeps its elements in a primitive array.
+ *
+ * The array stores the list back to front: the head is the last used slot and
+ * the tail is the same array with one slot fewer, so head(), tail() and
+ * find(int) share the array instead of copying it. Several lists may share one
+ * array; the first list to push onto a shared array claims the next free slot
+ * and writes into it in place, and any other list pushing onto the same array
+ * copies it first.
+ */
+
+public class IntImmutableList {
+
+	/** instance variables */
+	private final int[] data;
+	private final int size;
+	private final AtomicInteger top;
+	public static final IntImmutableList NIL = new IntImmutableList(new int[0],
+			0, new AtomicInteger());
+
+	/** constructor */
+	private IntImmutableList(int[] d, int s, AtomicInteger t) {
+		data = d;
+		size = s;
+		top = t;
+	}
+
+	/**
+	 * Creates an IntImmutableList with one int.
+	 *
+	 * @param d
+	 *            int to be the head of the list
+	 * @return new IntImmutableList with the int as head and an empty tail
+	 */
+	public static IntImmutableList list(int d) {
+		return NIL.push(d);
+	}
+
+	/**
+	 * Creates an IntImmutableList with the elements of an array, in the same
+	 * order. The array is copied.
+	 *
+	 * @param elements
+	 *            the ints of the list, head first
+	 * @return new IntImmutableList holding the elements
+	 */
+	public static IntImmutableList fromArray(int[] elements) {
+		return fromArray(elements, elements.length);
+	}
+
+	/**
+	 * Creates an IntImmutableList with the first count elements of an array,
+	 * in the same order. The array is copied.
+	 *
+	 * @param elements
+	 *            the ints of the list, head first
+	 * @param count
+	 *            the number of elements to take from the array
+	 * @return new IntImmutableList holding the elements
+	 */
+	public static IntImmutableList fromArray(int[] elements, int count) {
+		int[] d = new int[count];
+		for (int i = 0; i < count; i++)
+			d[count - 1 - i] = elements[i];
+		return adopt(d, count);
+	}
+
+	/**
+	 * Wraps an array that already holds a list back to front. The array must
+	 * not be modified afterwards.
+	 *
+	 * @param d
+	 *            the array, with the head in the last used slot
+	 * @param s
+	 *            the number of used slots
+	 * @return new IntImmutableList backed by the array
+	 */
+	static IntImmutableList adopt(int[] d, int s) {
+		return s == 0 ? NIL : new IntImmutableList(d, s, new AtomicInteger(s));
+	}
+
+	/**
+	 * Pushes an int as the head of a new list whose tail is this list.
+	 *
+	 * @param d
+	 *            an int to be pushed
+	 * @return new IntImmutableList with the int pushed onto this
+	 */
+	public IntImmutableList push(int d) {
+		if (size < data.length && top.compareAndSet(size, size + 1)) {
+			data[size] = d;
+			return new IntImmutableList(data, size + 1, top);
+		}
+		int[] grown = new int[Math.max(8, 2 * size)];
+		System.arraycopy(data, 0, grown, 0, size);
+		grown[size] = d;
+		return new IntImmutableList(grown, size + 1, new AtomicInteger(size + 1));
+	}
+
+	/**
+	 * Accesses the head of a list.
+	 *
+	 * @return int the head of an IntImmutableList
+	 * @throws NoSuchElementException
+	 *             if the list is empty
+	 */
+	public int head() {
+		if (size == 0)
+			throw new NoSuchElementException("head of empty list");
+		return data[size - 1];
+	}
+
+	/**
+	 * Accesses the tail of a list. The tail shares this list's array.
+	 *
+	 * @return the tail of an IntImmutableList
+	 * @throws NoSuchElementException
+	 *             if the list is empty
+	 */
+	public IntImmutableList tail() {
+		if (size == 0)
+			throw new NoSuchElementException("tail of empty list");
+		return size == 1 ? NIL : new IntImmutableList(data, size - 1, top);
+	}
+
+	/**
+	 * Checks if the list is empty.
+	 *
+	 * @return whether or not this list is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Checks the length of the IntImmutableList.
+	 *
+	 * @return int the length of the IntImmutableList
+	 */
+	public int length() {
+		return size;
+	}
+
+	/**
+	 * Returns the sublist of the IntImmutableList whose head is the first
+	 * occurrence of the requested int, or the empty list if it is not an
+	 * element of the IntImmutableList. The sublist shares this list's array.
+	 *
+	 * @param d
+	 *            the int to be found
+	 * @return the sublist starting at d, or NIL
+	 */
+	public IntImmutableList find(int d) {
+		for (int i = size - 1; i >= 0; i--) {
+			if (data[i] == d)
+				return i == size - 1 ? this : new IntImmutableList(data, i + 1,
+						top);
+		}
+		return NIL;
+	}
+
+	/**
+	 * Returns a new IntImmutableList with all elements of this followed by all
+	 * elements of that. When possible the elements of this are written into
+	 * free slots of that's array, so that is shared rather than copied.
+	 *
+	 * @param that
+	 *            the IntImmutableList to be appended onto this IntImmutableList
+	 */
+	public IntImmutableList append(IntImmutableList that) {
+		if (isEmpty())
+			return that;
+		if (that.isEmpty())
+			return this;
+		int total = that.size + size;
+		if (total <= that.data.length
+				&& that.top.compareAndSet(that.size, total)) {
+			System.arraycopy(data, 0, that.data, that.size, size);
+			return new IntImmutableList(that.data, total, that.top);
+		}
+		int[] d = new int[total];
+		System.arraycopy(that.data, 0, d, 0, that.size);
+		System.arraycopy(data, 0, d, that.size, size);
+		return adopt(d, total);
+	}
+
+	/**
+	 * Returns a list with all the elements reversed.
+	 */
+	public IntImmutableList reverse() {
+		if (size < 2)
+			return this;
+		int[] d = new int[size];
+		for (int i = 0; i < size; i++)
+			d[i] = data[size - 1 - i];
+		return adopt(d, size);
+	}
+
+	/**
+	 * Accesses the nth element of an IntImmutableList (indexed from zero).
+	 *
+	 * @param n
+	 *            the index of the element
+	 * @return int the nth element
+	 * @throws IndexOutOfBoundsException
+	 *             if n is negative or not less than the length
+	 */
+	public int nth(int n) {
+		if (n < 0 || n >= size)
+			throw new IndexOutOfBoundsException("Index: " + n + ", Length: "
+					+ size);
+		return data[size - 1 - n];
+	}
+
+	/**
+	 * Deletes all instances of the specified int from the list. Returns this
+	 * list unchanged if the int is not an element.
+	 *
+	 * @param d
+	 *            the int to be deleted
+	 */
+	public IntImmutableList delete(int d) {
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			if (data[i] == d)
+				count++;
+		}
+		if (count == 0)
+			return this;
+		int[] result = new int[size - count];
+		int j = 0;
+		for (int i = 0; i < size; i++) {
+			if (data[i] != d)
+				result[j++] = data[i];
+		}
+		return adopt(result, j);
+	}
+
+	/**
+	 * Inserts an int into the list in its properly sorted place, after any
+	 * elements equal to it.
+	 *
+	 * @param d
+	 *            the int to be inserted
+	 */
+	public IntImmutableList insert(int d) {
+		int pos = size - 1;
+		while (pos >= 0 && d >= data[pos])
+			pos--;
+		int[] result = new int[size + 1];
+		System.arraycopy(data, 0, result, 0, pos + 1);
+		result[pos + 1] = d;
+		System.arraycopy(data, pos + 1, result, pos + 2, size - pos - 1);
+		return adopt(result, size + 1);
+	}
+
+	/**
+	 * Removes all duplicate elements of an IntImmutableList, keeping the first
+	 * occurrence of each element in its original order.
+	 *
+	 * @return the IntImmutableList with duplicate elements removed
+	 */
+	public IntImmutableList purge() {
+		IntSet seen = new IntSet(size);
+		int[] result = new int[size];
+		int n = 0;
+		for (int i = size - 1; i >= 0; i--) {
+			if (!seen.isMember(data[i])) {
+				seen.add(data[i]);
+				result[n++] = data[i];
+			}
+		}
+		if (n == size)
+			return this;
+		return fromArray(result, n);
+	}
+
+	/**
+	 * Mergesorts an IntImmutableList into ascending order.
+	 *
+	 * @return a mergesorted list
+	 */
+	public IntImmutableList mergesort() {
+		if (size < 2)
+			return this;
+		int[] sorted = new int[size];
+		System.arraycopy(data, 0, sorted, 0, size);
+		mergesort(sorted, new int[size], 0, size);
+		int[] result = new int[size];
+		for (int i = 0; i < size; i++)
+			result[i] = sorted[size - 1 - i];
+		return adopt(result, size);
+	}
+
+	/**
+	 * Sorts a[from, to) in ascending order using buffer as scratch space.
+	 * Short ranges are sorted by insertion.
+	 */
+	private static void mergesort(int[] a, int[] buffer, int from, int to) {
+		if (to - from <= 16) {
+			for (int i = from + 1; i < to; i++) {
+				int x = a[i];
+				int j = i - 1;
+				while (j >= from && a[j] > x) {
+					a[j + 1] = a[j];
+					j--;
+				}
+				a[j + 1] = x;
+			}
+			return;
+		}
+		int mid = (from + to) >>> 1;
+		mergesort(a, buffer, from, mid);
+		mergesort(a, buffer, mid, to);
+		if (a[mid - 1] <= a[mid])
+			return;
+		System.arraycopy(a, from, buffer, from, to - from);
+		int i = from;
+		int j = mid;
+		for (int k = from; k < to; k++) {
+			if (j >= to || (i < mid && buffer[i] <= buffer[j]))
+				a[k] = buffer[i++];
+			else
+				a[k] = buffer[j++];
+		}
+	}
+
+	/**
+	 * Copies the elements of the list into a new array, head first.
+	 *
+	 * @return array of the elements of the list
+	 */
+	public int[] toArray() {
+		int[] result = new int[size];
+		for (int i = 0; i < size; i++)
+			result[i] = data[size - 1 - i];
+		return result;
+	}
+
+	/**
+	 * Returns an {@link IntIterator} over the elements of this list.
+	 *
+	 * @return {@link IntIterator} for this list
+	 */
+	public IntIterator intIterator() {
+		return new IntIterator(this);
+	}
+
+	/**
+	 * Accesses the element stored in a slot of the backing array, for
+	 * {@link IntIterator}.
+	 */
+	int slot(int i) {
+		return data[i];
+	}
+
+	/**
+	 * Creates a String version of the IntImmutableList.
+	 *
+	 * @return String representing the IntImmutableList
+	 */
+	public String toString() {
+		StringBuilder sb = new StringBuilder("(");
+		for (int i = size - 1; i >= 0; i--) {
+			sb.append(data[i]);
+			if (i > 0)
+				sb.append(' ');
+		}
+		return sb.append(')').toString();
+	}
+
+	/**
+	 * Parses a String of whitespace-separated integers into an
+	 * IntImmutableList.
+	 *
+	 * @param s
+	 *            the String to be parsed
+	 * @return the IntImmutableList coming from the parsed String
+	 * @see IntReader#parseInts(CharSequence)
+	 */
+	public static IntImmutableList parseIntList(String s) {
+		return fromArray(IntReader.parseInts(s));
+	}
+}
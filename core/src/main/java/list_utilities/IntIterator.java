@@ -0,0 +1,49 @@
+/**********************************************
+ * IntIterator.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The {@link IntIterator} class walks the elements of an
+ * {@link IntImmutableList} from head to tail. Unlike {@link Iterator} it
+ * returns primitive ints, so iterating allocates nothing per element.
+ */
+
+public class IntIterator {
+
+	/** instance variables */
+	private final IntImmutableList list;
+	private int slot;
+
+	/** constructor */
+	public IntIterator(IntImmutableList a) {
+		list = a;
+		slot = a.length() - 1;
+	}
+
+	/**
+	 * Checks if there is a next element.
+	 *
+	 * @return true if a next element exists, false otherwise
+	 */
+	public boolean hasNext() {
+		return slot >= 0;
+	}
+
+	/**
+	 * Gets the next element.
+	 *
+	 * @return int the next element
+	 * @throws NoSuchElementException
+	 *             if there are no more elements
+	 */
+	public int next() {
+		if (slot < 0)
+			throw new NoSuchElementException();
+		return list.slot(slot--);
+	}
+}
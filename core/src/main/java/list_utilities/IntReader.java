@@ -0,0 +1,233 @@
+/**********************************************
+ * IntReader.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The {@link IntReader} class reads whitespace-separated integers. Files are
+ * streamed through a {@link FileChannel} in fixed-size blocks and the digits
+ * are turned into ints straight from the bytes, without building a String of
+ * the file or of any number, so reading a file costs one pass and memory for
+ * the ints themselves.
+ *
+ * Numbers may be separated by any amount of ASCII whitespace and may start
+ * with a sign. Anything else, or a number outside the range of an int, throws
+ * a {@link NumberFormatException}, as {@link Integer#parseInt(String)} would.
+ */
+
+public final class IntReader {
+
+	/** instance variables */
+	private static final int BLOCK_SIZE = 1 << 16;
+
+	/** constructor */
+	private IntReader() {
+	}
+
+	/**
+	 * Reads the integers in a file into an array.
+	 *
+	 * @param fileName
+	 *            name of the file to read
+	 * @return the integers in the file, in order
+	 * @throws IOException
+	 *             if the file cannot be read
+	 */
+	public static int[] readInts(String fileName) throws IOException {
+		IntBuffer buffer = read(fileName, null);
+		return Arrays.copyOf(buffer.values, buffer.size);
+	}
+
+	/**
+	 * Reads the integers in a file into an {@link IntImmutableList}.
+	 *
+	 * @param fileName
+	 *            name of the file to read
+	 * @return the integers in the file, in order
+	 * @throws IOException
+	 *             if the file cannot be read
+	 */
+	public static IntImmutableList readIntList(String fileName)
+			throws IOException {
+		IntBuffer buffer = read(fileName, null);
+		int[] values = buffer.values;
+		for (int i = 0, j = buffer.size - 1; i < j; i++, j--) {
+			int swap = values[i];
+			values[i] = values[j];
+			values[j] = swap;
+		}
+		return IntImmutableList.adopt(values, buffer.size);
+	}
+
+	/**
+	 * Reads the integers in a file into an {@link ImmutableList} of Integers.
+	 *
+	 * @param fileName
+	 *            name of the file to read
+	 * @return the integers in the file, in order
+	 * @throws IOException
+	 *             if the file cannot be read
+	 */
+	public static ImmutableList<Integer> readList(String fileName)
+			throws IOException {
+		IntBuffer buffer = read(fileName, null);
+		return toList(buffer.values, buffer.size);
+	}
+
+	/**
+	 * Reads the integers in a file straight into an {@link IntSet}.
+	 *
+	 * @param fileName
+	 *            name of the file to read
+	 * @return the set of integers in the file
+	 * @throws IOException
+	 *             if the file cannot be read
+	 */
+	public static IntSet readIntSet(String fileName) throws IOException {
+		IntSet set = new IntSet();
+		read(fileName, set);
+		return set;
+	}
+
+	/**
+	 * Parses the integers in a String or other character sequence.
+	 *
+	 * @param s
+	 *            the characters to parse
+	 * @return the integers in s, in order
+	 */
+	public static int[] parseInts(CharSequence s) {
+		Parser parser = new Parser(null);
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			parser.accept(c < 128 ? (byte) c : (byte) '?');
+		}
+		parser.finish();
+		return Arrays.copyOf(parser.buffer.values, parser.buffer.size);
+	}
+
+	/**
+	 * Creates an {@link ImmutableList} of the first count ints of an array.
+	 */
+	static ImmutableList<Integer> toList(int[] values, int count) {
+		ImmutableList<Integer> result = ImmutableList.nil();
+		for (int i = count - 1; i >= 0; i--)
+			result = result.push(values[i]);
+		return result;
+	}
+
+	/**
+	 * Reads every integer in a file, adding it to set if set is not null and
+	 * to the returned buffer otherwise.
+	 */
+	private static IntBuffer read(String fileName, IntSet set)
+			throws IOException {
+		FileChannel channel = FileChannel.open(Paths.get(fileName),
+				StandardOpenOption.READ);
+		try {
+			return read(channel, set);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Reads every integer from a channel until it is exhausted.
+	 */
+	private static IntBuffer read(ReadableByteChannel channel, IntSet set)
+			throws IOException {
+		Parser parser = new Parser(set);
+		ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+		byte[] bytes = block.array();
+		int n;
+		while ((n = channel.read(block)) >= 0) {
+			for (int i = 0; i < n; i++)
+				parser.accept(bytes[i]);
+			block.clear();
+		}
+		parser.finish();
+		return parser.buffer;
+	}
+
+	/**
+	 * The {@link IntBuffer} class is a growable array of ints.
+	 */
+	private static final class IntBuffer {
+
+		/** instance variables */
+		int[] values = new int[1024];
+		int size = 0;
+
+		void add(int d) {
+			if (size == values.length)
+				values = Arrays.copyOf(values, 2 * size);
+			values[size++] = d;
+		}
+	}
+
+	/**
+	 * The {@link Parser} class turns a stream of bytes into ints one byte at a
+	 * time, so a number may be split across blocks.
+	 */
+	private static final class Parser {
+
+		/** instance variables */
+		final IntBuffer buffer = new IntBuffer();
+		private final IntSet set;
+		private boolean inNumber = false;
+		private boolean negative = false;
+		private int digits = 0;
+		private long value = 0;
+
+		/** constructor */
+		Parser(IntSet s) {
+			set = s;
+		}
+
+		void accept(byte b) {
+			if (b >= '0' && b <= '9') {
+				value = 10 * value + (b - '0');
+				if (value > 1L + Integer.MAX_VALUE)
+					throw new NumberFormatException("Number out of int range");
+				inNumber = true;
+				digits++;
+			} else if (b == ' ' || b == '\n' || b == '\t' || b == '\r'
+					|| b == '\f' || b == 0x0B) {
+				finish();
+			} else if ((b == '-' || b == '+') && !inNumber) {
+				inNumber = true;
+				negative = b == '-';
+			} else
+				throw new NumberFormatException("Unexpected character: "
+						+ (char) b);
+		}
+
+		void finish() {
+			if (!inNumber)
+				return;
+			if (digits == 0)
+				throw new NumberFormatException("Sign without digits");
+			long d = negative ? -value : value;
+			if (d > Integer.MAX_VALUE)
+				throw new NumberFormatException("Number out of int range");
+			if (set != null)
+				set.add((int) d);
+			else
+				buffer.add((int) d);
+			inNumber = false;
+			negative = false;
+			digits = 0;
+			value = 0;
+		}
+	}
+}
@@ -0,0 +1,393 @@
+/**********************************************
+ * IntSet.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+/**
+ * The {@link IntSet} class is the int-specialized version of {@link HashSet}.
+ * It implements the {@link Set} interface, and adds primitive overloads of
+ * isMember, add and remove so that callers working with ints never box them.
+ *
+ * The elements are kept in an open-addressed int table with linear probing.
+ * Zero marks an empty slot, so whether zero itself is a member is tracked by
+ * a separate flag.
+ */
+
+public class IntSet implements Set<Integer> {
+
+	/** instance variables */
+	private int[] table;
+	private int size;
+	private boolean hasZero;
+
+	/** constructor */
+	public IntSet() {
+		this(0);
+	}
+
+	/**
+	 * Creates an empty IntSet with room for the expected number of elements
+	 * before it has to resize.
+	 *
+	 * @param expectedSize
+	 *            the number of elements the set is expected to hold
+	 */
+	public IntSet(int expectedSize) {
+		table = new int[HashSet.capacityFor(expectedSize)];
+		size = 0;
+		hasZero = false;
+	}
+
+	/**
+	 * Creates an IntSet holding every element of an {@link IntImmutableList}.
+	 *
+	 * @param a
+	 *            the {@link IntImmutableList} whose elements are added
+	 */
+	public IntSet(IntImmutableList a) {
+		this(a.length());
+		IntIterator it = a.intIterator();
+		while (it.hasNext())
+			add(it.next());
+	}
+
+	/**
+	 * Calculates the size of the set.
+	 *
+	 * @return int representing the number of elements in the set
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if the set is empty or not.
+	 *
+	 * @return true if the set is empty, false if the set is not empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Checks whether a specified Object is a member of the set or not. Only
+	 * Integers can be members.
+	 *
+	 * @param object
+	 *            the Object to check whether or not a member of the set
+	 * @return true if the Object is a member, false if the Object is not a
+	 *         member
+	 */
+	public boolean isMember(Object object) {
+		return object instanceof Integer && isMember(((Integer) object).intValue());
+	}
+
+	/**
+	 * Checks whether a specified int is a member of the set or not.
+	 *
+	 * @param d
+	 *            the int to check whether or not a member of the set
+	 * @return true if the int is a member, false if the int is not a member
+	 */
+	public boolean isMember(int d) {
+		if (d == 0)
+			return hasZero;
+		return table[slotOf(d)] != 0;
+	}
+
+	/**
+	 * Creates a new set with the union of this set and another set. Does not
+	 * modify the current set.
+	 *
+	 * @param otherSet
+	 *            set to union with
+	 * @return unionSet the union of this set and the other set
+	 */
+	public Set<Integer> union(Set<Integer> otherSet) {
+		IntSet unionSet = new IntSet(size + otherSet.size());
+		unionSet.addAll(this);
+		if (otherSet instanceof IntSet)
+			unionSet.addAll((IntSet) otherSet);
+		else {
+			for (Integer d : otherSet)
+				unionSet.add(d.intValue());
+		}
+		return unionSet;
+	}
+
+	/**
+	 * Creates a new set with the intersection of this set and another set. Does
+	 * not modify the current set.
+	 *
+	 * @param otherSet
+	 *            set to intersect with
+	 * @return intersectionSet intersection of this set and the other set
+	 */
+	public Set<Integer> intersection(Set<Integer> otherSet) {
+		IntSet intersectionSet = new IntSet(Math.min(size, otherSet.size()));
+		if (otherSet instanceof IntSet) {
+			IntSet other = (IntSet) otherSet;
+			if (hasZero && other.hasZero)
+				intersectionSet.add(0);
+			for (int i = 0; i < other.table.length; i++) {
+				if (other.table[i] != 0 && isMember(other.table[i]))
+					intersectionSet.add(other.table[i]);
+			}
+		} else {
+			for (Integer d : otherSet) {
+				if (isMember(d.intValue()))
+					intersectionSet.add(d.intValue());
+			}
+		}
+		return intersectionSet;
+	}
+
+	/**
+	 * Creates a copy of the current set. Does not modify the current set.
+	 *
+	 * @return setCopy the copy of this set
+	 */
+	public Set<Integer> copy() {
+		IntSet setCopy = new IntSet();
+		setCopy.table = table.clone();
+		setCopy.size = size;
+		setCopy.hasZero = hasZero;
+		return setCopy;
+	}
+
+	/**
+	 * Adds an Integer to this set.
+	 *
+	 * @param object
+	 *            object to add
+	 */
+	public void add(Integer object) {
+		add(object.intValue());
+	}
+
+	/**
+	 * Adds an int to this set if it is not already a member.
+	 *
+	 * @param d
+	 *            int to add
+	 */
+	public void add(int d) {
+		if (d == 0) {
+			if (!hasZero) {
+				hasZero = true;
+				size++;
+			}
+			return;
+		}
+		int slot = slotOf(d);
+		if (table[slot] != 0)
+			return;
+		table[slot] = d;
+		size++;
+		if (2 * size > table.length)
+			resize(2 * table.length);
+	}
+
+	/**
+	 * Removes an Object from this set. Does nothing if the Object is not a
+	 * member.
+	 *
+	 * @param object
+	 *            object to delete
+	 */
+	public void remove(Object object) {
+		if (object instanceof Integer)
+			remove(((Integer) object).intValue());
+	}
+
+	/**
+	 * Removes an int from this set. Does nothing if the int is not a member.
+	 *
+	 * @param d
+	 *            int to delete
+	 */
+	public void remove(int d) {
+		if (d == 0) {
+			if (hasZero) {
+				hasZero = false;
+				size--;
+			}
+			return;
+		}
+		int slot = slotOf(d);
+		if (table[slot] == 0)
+			return;
+		table[slot] = 0;
+		size--;
+		int mask = table.length - 1;
+		int hole = slot;
+		for (int i = (slot + 1) & mask; table[i] != 0; i = (i + 1) & mask) {
+			int home = hash(table[i]) & mask;
+			if (((i - home) & mask) >= ((i - hole) & mask)) {
+				table[hole] = table[i];
+				table[i] = 0;
+				hole = i;
+			}
+		}
+	}
+
+	/**
+	 * Returns the {@link Iterator} that will iterate through the elements of
+	 * this set. Prefer {@link #intIterator()}, which does not box.
+	 *
+	 * @return {@link Iterator} for this set
+	 */
+	public Iterator<Integer> iterator() {
+		return new Iterator<Integer>(toList());
+	}
+
+	/**
+	 * Returns an {@link IntIterator} over the elements of this set, in no
+	 * particular order. The elements are first copied into an int array.
+	 *
+	 * @return {@link IntIterator} for this set
+	 */
+	public IntIterator intIterator() {
+		return toIntList().intIterator();
+	}
+
+	/**
+	 * Checks whether zero, which is not kept in the table, is a member.
+	 */
+	boolean hasZero() {
+		return hasZero;
+	}
+
+	/**
+	 * Checks the number of slots in the table.
+	 */
+	int capacity() {
+		return table.length;
+	}
+
+	/**
+	 * Reads one slot of the table, so that other sets can walk it without
+	 * copying it; zero marks an empty slot.
+	 */
+	int slot(int i) {
+		return table[i];
+	}
+
+	/**
+	 * Creates an empty copy of this set. Does not modify the current set.
+	 *
+	 * @return an empty copy of this set
+	 */
+	public Set<Integer> empty() {
+		return new IntSet();
+	}
+
+	/**
+	 * Creates an {@link IntImmutableList} of the elements of this set, in no
+	 * particular order.
+	 *
+	 * @return the elements of this set
+	 */
+	public IntImmutableList toIntList() {
+		int[] elements = new int[size];
+		int n = 0;
+		if (hasZero)
+			elements[n++] = 0;
+		for (int i = 0; i < table.length; i++) {
+			if (table[i] != 0)
+				elements[n++] = table[i];
+		}
+		return IntImmutableList.adopt(elements, n);
+	}
+
+	/**
+	 * Creates an {@link ImmutableList} of the elements of this set, boxed, in
+	 * no particular order.
+	 *
+	 * @return list the elements of this set
+	 */
+	public ImmutableList<Integer> toList() {
+		ImmutableList<Integer> list = ImmutableList.nil();
+		IntIterator it = intIterator();
+		while (it.hasNext())
+			list = list.push(it.next());
+		return list;
+	}
+
+	/**
+	 * Creates a String version of this set.
+	 *
+	 * @return String representing this set
+	 */
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		IntIterator it = intIterator();
+		while (it.hasNext()) {
+			sb.append(it.next());
+			if (it.hasNext())
+				sb.append(' ');
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * Adds every element of another IntSet to this set.
+	 *
+	 * @param other
+	 *            the set whose elements are added
+	 */
+	private void addAll(IntSet other) {
+		if (other.hasZero)
+			add(0);
+		for (int i = 0; i < other.table.length; i++) {
+			if (other.table[i] != 0)
+				add(other.table[i]);
+		}
+	}
+
+	/**
+	 * Finds the slot holding a non-zero int, or the empty slot where it would
+	 * be stored if it is not a member.
+	 *
+	 * @param d
+	 *            the int to look for
+	 * @return int the index of the slot in the table
+	 */
+	private int slotOf(int d) {
+		int mask = table.length - 1;
+		int i = hash(d) & mask;
+		while (table[i] != 0 && table[i] != d)
+			i = (i + 1) & mask;
+		return i;
+	}
+
+	/**
+	 * Moves every element into a new table of the given capacity.
+	 *
+	 * @param capacity
+	 *            the new capacity, a power of two
+	 */
+	private void resize(int capacity) {
+		int[] oldTable = table;
+		table = new int[capacity];
+		for (int i = 0; i < oldTable.length; i++) {
+			if (oldTable[i] != 0)
+				table[slotOf(oldTable[i])] = oldTable[i];
+		}
+	}
+
+	/**
+	 * Spreads the bits of an int so that keys differing only in their high
+	 * bits still land in different slots.
+	 *
+	 * @param d
+	 *            the int to hash
+	 * @return int the spread hash code
+	 */
+	static int hash(int d) {
+		int h = d * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
@@ -0,0 +1,69 @@
+/**********************************************
+ * Iterator.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The {@link Iterator} class implements the {@link IteratorInterface} and
+ * {@link java.util.Iterator} interfaces. An {@link Iterator} Object is a
+ * cursor over the cells of an {@link ImmutableList}, such as the list
+ * underlying a {@link ListSet}. The class contains methods to check if there
+ * is a next element, and to return the next element and move past it.
+ * 
+ * Because the list cannot change, an Iterator keeps walking the elements the
+ * list had when the Iterator was created even if its {@link ListSet} is
+ * modified in the meantime.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+
+public class Iterator<T> implements IteratorInterface<T>,
+		java.util.Iterator<T> {
+
+	/** instance variable */
+	private ImmutableList<T> cursor;
+
+	/** constructor */
+	public Iterator(ListSet<T> a) {
+		cursor = a.getList();
+	}
+
+	/**
+	 * Creates an Iterator over the elements of an {@link ImmutableList}.
+	 * 
+	 * @param a
+	 *            the list to iterate over
+	 */
+	public Iterator(ImmutableList<T> a) {
+		cursor = a;
+	}
+
+	/**
+	 * Checks if there is a next element.
+	 * 
+	 * @return true if a next element exists, false otherwise
+	 */
+	public boolean hasNext() {
+		return !cursor.isEmpty();
+	}
+
+	/**
+	 * Gets the next element and moves past it.
+	 * 
+	 * @return the next element
+	 * @throws NoSuchElementException
+	 *             if there are no more elements
+	 */
+	public T next() {
+		if (cursor.isEmpty())
+			throw new NoSuchElementException();
+		T d = cursor.head();
+		cursor = cursor.tail();
+		return d;
+	}
+}
@@ -5,7 +5,14 @@
 
 package list_utilities;
 
-public interface IteratorInterface {
+/**
+ * The {@link IteratorInterface} interface walks the elements of a collection
+ * of elements of type T, one at a time.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+public interface IteratorInterface<T> {
 
 	/**
 	 * Checks if there is a next element.
@@ -17,7 +24,7 @@ public interface IteratorInterface {
 	/**
 	 * Gets the next element.
 	 * 
-	 * @return Object the next element
+	 * @return the next element
 	 */
-	public Object next();
+	public T next();
 }
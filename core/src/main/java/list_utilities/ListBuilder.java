@@ -0,0 +1,117 @@
+/**********************************************
+ * ListBuilder.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+/**
+ * The {@link ListBuilder} class builds an {@link ImmutableList} one element at
+ * a time, in order. It is the transient counterpart of ImmutableList: while
+ * it is being built the elements are added in place to a growable
+ * {@link ElementBuffer}, so adding an element at the end takes amortized
+ * constant time and creates no garbage, and build() then creates each cell of
+ * the list exactly once.
+ *
+ * Each cell records the length and hash code of the list that starts at it,
+ * so the cells can only be created from the end of the list once all the
+ * elements are known. build() is therefore linear rather than constant time,
+ * but it only does the work that pushing the elements would have done.
+ *
+ * A builder can be used for one list only: once build() has been called, any
+ * further call throws an IllegalStateException, and so does adding it to
+ * another builder.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+
+public final class ListBuilder<T> {
+
+	/** instance variables */
+	private final ElementBuffer elements;
+
+	/** constructor */
+	public ListBuilder() {
+		this(16);
+	}
+
+	/**
+	 * Creates a ListBuilder with room for the expected number of elements
+	 * before it has to grow.
+	 *
+	 * @param expectedSize
+	 *            the number of elements the list is expected to hold
+	 */
+	public ListBuilder(int expectedSize) {
+		elements = new ElementBuffer(expectedSize, "list");
+	}
+
+	/**
+	 * Adds an element at the end of the list being built.
+	 *
+	 * @param d
+	 *            the element to add
+	 * @return this builder
+	 * @throws IllegalStateException
+	 *             if the list has already been built
+	 */
+	public ListBuilder<T> add(T d) {
+		elements.add(d);
+		return this;
+	}
+
+	/**
+	 * Adds every element of an {@link ImmutableList} at the end of the list
+	 * being built, in order.
+	 *
+	 * @param a
+	 *            the list whose elements are added
+	 * @return this builder
+	 * @throws IllegalStateException
+	 *             if the list has already been built
+	 */
+	public ListBuilder<T> addAll(ImmutableList<? extends T> a) {
+		elements.addAll(a);
+		return this;
+	}
+
+	/**
+	 * Adds every element added to another builder at the end of the list
+	 * being built, in order. The other builder is not changed.
+	 *
+	 * @param other
+	 *            the builder whose elements are added
+	 * @return this builder
+	 * @throws IllegalStateException
+	 *             if this list or the other builder's list has already been
+	 *             built
+	 */
+	public ListBuilder<T> addAll(ListBuilder<? extends T> other) {
+		elements.addAll(other.elements);
+		return this;
+	}
+
+	/**
+	 * Checks the number of elements added so far.
+	 *
+	 * @return int the number of elements
+	 */
+	public int length() {
+		return elements.count();
+	}
+
+	/**
+	 * Creates the {@link ImmutableList} of the elements added, in the order
+	 * they were added. The builder cannot be used afterwards.
+	 *
+	 * @return the built list
+	 * @throws IllegalStateException
+	 *             if the list has already been built
+	 */
+	public ImmutableList<T> build() {
+		int n = elements.count();
+		return ImmutableList.prependAll(elements.freeze(), n, ImmutableList
+				.<T> nil());
+	}
+}
@@ -0,0 +1,161 @@
+/**********************************************
+ * ListCollectors.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.Comparator;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * The {@link ListCollectors} class holds {@link Collector}s that gather the
+ * elements of a stream directly into an {@link ImmutableList} or a
+ * {@link Set}, without going through a java.util collection first.
+ *
+ * The elements are gathered into a {@link ListBuilder} or
+ * {@link ListSetBuilder}, so no cell is created that is not part of the
+ * result. Parallel streams gather into one builder per thread and combine
+ * them in encounter order.
+ */
+
+public final class ListCollectors {
+
+	/** constructor */
+	private ListCollectors() {
+	}
+
+	/**
+	 * Returns a Collector that gathers the elements into an
+	 * {@link ImmutableList}, in encounter order.
+	 *
+	 * @return the Collector
+	 */
+	public static <T> Collector<T, ?, ImmutableList<T>> toList() {
+		return Collector.of(ListCollectors.<T> newListBuilder(),
+				ListCollectors.<T> addToList(),
+				ListCollectors.<T> addAllToList(),
+				new Function<ListBuilder<T>, ImmutableList<T>>() {
+					public ImmutableList<T> apply(ListBuilder<T> b) {
+						return b.build();
+					}
+				});
+	}
+
+	/**
+	 * Returns a Collector that gathers the elements into a {@link ListSet},
+	 * keeping the first occurrence of each element in encounter order.
+	 *
+	 * @return the Collector
+	 */
+	public static <T> Collector<T, ?, ListSet<T>> toListSet() {
+		return Collector.of(ListCollectors.<T> newListBuilder(),
+				ListCollectors.<T> addToList(),
+				ListCollectors.<T> addAllToList(),
+				new Function<ListBuilder<T>, ListSet<T>>() {
+					public ListSet<T> apply(ListBuilder<T> b) {
+						return new ListSet<T>(b.build().purge());
+					}
+				});
+	}
+
+	/**
+	 * Returns a Collector that gathers the elements into a
+	 * {@link SortedListSet} in their natural order.
+	 *
+	 * @return the Collector
+	 */
+	public static <T> Collector<T, ?, SortedListSet<T>> toSortedListSet() {
+		return toSortedListSet(ListSort.NATURAL_ORDER);
+	}
+
+	/**
+	 * Returns a Collector that gathers the elements into a
+	 * {@link SortedListSet} in the order given by a {@link Comparator}.
+	 *
+	 * @param c
+	 *            the order of the set
+	 * @return the Collector
+	 */
+	public static <T> Collector<T, ?, SortedListSet<T>> toSortedListSet(
+			final Comparator<? super T> c) {
+		return Collector.of(new Supplier<ListSetBuilder<T>>() {
+			public ListSetBuilder<T> get() {
+				return new ListSetBuilder<T>(c);
+			}
+		}, new BiConsumer<ListSetBuilder<T>, T>() {
+			public void accept(ListSetBuilder<T> b, T d) {
+				b.add(d);
+			}
+		}, new BinaryOperator<ListSetBuilder<T>>() {
+			public ListSetBuilder<T> apply(ListSetBuilder<T> a,
+					ListSetBuilder<T> b) {
+				return a.addAll(b);
+			}
+		}, new Function<ListSetBuilder<T>, SortedListSet<T>>() {
+			public SortedListSet<T> apply(ListSetBuilder<T> b) {
+				return b.build();
+			}
+		}, Collector.Characteristics.UNORDERED);
+	}
+
+	/**
+	 * Returns a Collector that gathers the elements into a {@link HashSet}.
+	 *
+	 * @return the Collector
+	 */
+	public static <T> Collector<T, ?, HashSet<T>> toHashSet() {
+		return Collector.of(new Supplier<HashSet<T>>() {
+			public HashSet<T> get() {
+				return new HashSet<T>();
+			}
+		}, new BiConsumer<HashSet<T>, T>() {
+			public void accept(HashSet<T> set, T d) {
+				set.add(d);
+			}
+		}, new BinaryOperator<HashSet<T>>() {
+			public HashSet<T> apply(HashSet<T> a, HashSet<T> b) {
+				return (HashSet<T>) a.union(b);
+			}
+		}, Collector.Characteristics.UNORDERED,
+				Collector.Characteristics.IDENTITY_FINISH);
+	}
+
+	/**
+	 * Creates an empty {@link ListBuilder} for each part of the stream.
+	 */
+	private static <T> Supplier<ListBuilder<T>> newListBuilder() {
+		return new Supplier<ListBuilder<T>>() {
+			public ListBuilder<T> get() {
+				return new ListBuilder<T>();
+			}
+		};
+	}
+
+	/**
+	 * Adds one element at the end of a {@link ListBuilder}.
+	 */
+	private static <T> BiConsumer<ListBuilder<T>, T> addToList() {
+		return new BiConsumer<ListBuilder<T>, T>() {
+			public void accept(ListBuilder<T> b, T d) {
+				b.add(d);
+			}
+		};
+	}
+
+	/**
+	 * Combines the builders of two neighbouring parts of the stream, in
+	 * encounter order.
+	 */
+	private static <T> BinaryOperator<ListBuilder<T>> addAllToList() {
+		return new BinaryOperator<ListBuilder<T>>() {
+			public ListBuilder<T> apply(ListBuilder<T> a, ListBuilder<T> b) {
+				return a.addAll(b);
+			}
+		};
+	}
+}
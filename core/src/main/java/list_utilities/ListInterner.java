@@ -0,0 +1,281 @@
+/**********************************************
+ * ListInterner.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * The {@link ListInterner} class builds {@link ImmutableList} cells through a
+ * table of canonical cells, so that lists built independently but ending in
+ * the same elements share one copy of that suffix. This is hash-consing: a
+ * cell is canonical if its tail is canonical and no other canonical cell has
+ * an equal head and the same tail, so two canonical cells that hold equal
+ * lists are the same cell. {@link ImmutableList#NIL} is canonical.
+ *
+ * Finding the canonical cell for a head and a canonical tail only compares
+ * the head and the identity of the tail, never walks the list, and equals()
+ * on two interned lists that are equal returns as soon as it sees they are
+ * the same cell. Lists built without the interner are left as they are; use
+ * {@link #intern(ImmutableList)} to get the canonical copy of one, which
+ * reuses the longest suffix that is already canonical.
+ *
+ * The table holds its cells only weakly, so interned lists that are no longer
+ * used anywhere else are garbage collected as usual. It is split into
+ * segments, each guarded by its own lock, so threads interning different
+ * cells rarely wait for one another.
+ */
+
+public class ListInterner {
+
+	/** instance variables */
+	private static final int SEGMENTS = 16;
+	private static final int SEGMENT_SHIFT = 28;
+	private final Segment[] segments;
+
+	/** constructor */
+	public ListInterner() {
+		segments = new Segment[SEGMENTS];
+		for (int i = 0; i < SEGMENTS; i++)
+			segments[i] = new Segment();
+	}
+
+	/**
+	 * Returns the canonical list of one element.
+	 *
+	 * @param d
+	 *            the element
+	 * @return the canonical list holding only d
+	 * @see ImmutableList#list(Object)
+	 */
+	public <T> ImmutableList<T> list(T d) {
+		return cell(d, ImmutableList.<T> nil());
+	}
+
+	/**
+	 * Returns the canonical list of an element followed by the elements of a
+	 * list, interning the list first if it is not canonical.
+	 *
+	 * @param d
+	 *            the element to put in front
+	 * @param tail
+	 *            the rest of the list
+	 * @return the canonical list with d at its head
+	 * @see ImmutableList#push(Object)
+	 */
+	public <T> ImmutableList<T> push(T d, ImmutableList<T> tail) {
+		return cell(d, intern(tail));
+	}
+
+	/**
+	 * Parses a String of whitespace-separated integers into a canonical list.
+	 *
+	 * @param s
+	 *            the String to be parsed
+	 * @return the canonical list of the parsed integers
+	 * @see ImmutableList#parseIntList(String)
+	 */
+	public ImmutableList<Integer> parseIntList(String s) {
+		int[] ints = IntReader.parseInts(s);
+		ImmutableList<Integer> l = ImmutableList.nil();
+		for (int i = ints.length - 1; i >= 0; i--)
+			l = cell(ints[i], l);
+		return l;
+	}
+
+	/**
+	 * Returns the canonical list equal to a list. Walks the list only as far
+	 * as its first cell that is already canonical, and returns the list
+	 * itself if it is canonical.
+	 *
+	 * @param list
+	 *            the list to intern
+	 * @return the canonical list with the same elements
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> ImmutableList<T> intern(ImmutableList<T> list) {
+		if (isCanonical(list))
+			return list;
+		Object[] elements = new Object[list.length()];
+		int n = 0;
+		ImmutableList<T> rest = list;
+		for (; !isCanonical(rest); rest = rest.tail())
+			elements[n++] = rest.head();
+		for (int i = n - 1; i >= 0; i--)
+			rest = cell((T) elements[i], rest);
+		return rest;
+	}
+
+	/**
+	 * Checks whether a list is canonical in this interner.
+	 *
+	 * @param list
+	 *            the list to check
+	 * @return true if list is the canonical cell for its elements
+	 */
+	public boolean isCanonical(ImmutableList<?> list) {
+		if (list.isEmpty())
+			return true;
+		int h = spread(list.hashCode());
+		return segmentFor(h).find(h, list.head(), list.tail()) == list;
+	}
+
+	/**
+	 * Counts the canonical cells that have not been garbage collected.
+	 *
+	 * @return the number of cells in the table
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment s : segments)
+			size += s.size();
+		return size;
+	}
+
+	/**
+	 * Returns the canonical cell with a head and a canonical tail, creating
+	 * it if there is none.
+	 */
+	private <T> ImmutableList<T> cell(T d, ImmutableList<T> tail) {
+		int h = spread(31 * tail.hashCode() + (d == null ? 0 : d.hashCode()));
+		return segmentFor(h).intern(h, d, tail);
+	}
+
+	/**
+	 * Picks the segment of a spread hash code by its top bits.
+	 */
+	private Segment segmentFor(int h) {
+		return segments[h >>> SEGMENT_SHIFT];
+	}
+
+	/**
+	 * Scrambles a hash code so that both its top bits, which pick the
+	 * segment, and its low bits, which pick the bucket, depend on all of it.
+	 */
+	private static int spread(int h) {
+		h *= 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * One lock-guarded part of the table: a chained hash table of weak
+	 * references to canonical cells.
+	 */
+	private static final class Segment {
+
+		/** instance variables */
+		private final ReferenceQueue<ImmutableList<?>> cleared;
+		private Entry[] table;
+		private int count;
+
+		/** constructor */
+		Segment() {
+			cleared = new ReferenceQueue<ImmutableList<?>>();
+			table = new Entry[16];
+			count = 0;
+		}
+
+		/**
+		 * Finds the canonical cell with a head and tail, or returns null.
+		 */
+		synchronized ImmutableList<?> find(int h, Object d,
+				ImmutableList<?> tail) {
+			expunge();
+			Entry e = table[h & (table.length - 1)];
+			for (; e != null; e = e.next) {
+				ImmutableList<?> l = e.get();
+				if (e.hash == h && l != null && l.tail() == tail
+						&& (d == null ? l.head() == null : d.equals(l.head())))
+					return l;
+			}
+			return null;
+		}
+
+		/**
+		 * Finds the canonical cell with a head and tail, adding a new one if
+		 * there is none.
+		 */
+		@SuppressWarnings("unchecked")
+		synchronized <T> ImmutableList<T> intern(int h, T d,
+				ImmutableList<T> tail) {
+			ImmutableList<T> l = (ImmutableList<T>) find(h, d, tail);
+			if (l != null)
+				return l;
+			l = new ImmutableList<T>(d, tail);
+			if (count >= table.length - table.length / 4)
+				resize();
+			int i = h & (table.length - 1);
+			table[i] = new Entry(l, h, table[i], cleared);
+			count++;
+			return l;
+		}
+
+		/**
+		 * Counts the entries of cells that have not been garbage collected.
+		 */
+		synchronized int size() {
+			expunge();
+			return count;
+		}
+
+		/**
+		 * Doubles the number of buckets.
+		 */
+		private void resize() {
+			Entry[] old = table;
+			table = new Entry[2 * old.length];
+			for (Entry e : old) {
+				while (e != null) {
+					Entry next = e.next;
+					int i = e.hash & (table.length - 1);
+					e.next = table[i];
+					table[i] = e;
+					e = next;
+				}
+			}
+		}
+
+		/**
+		 * Unlinks the entries of cells that have been garbage collected.
+		 */
+		private void expunge() {
+			Object cell;
+			while ((cell = cleared.poll()) != null) {
+				Entry dead = (Entry) cell;
+				int i = dead.hash & (table.length - 1);
+				Entry previous = null;
+				for (Entry e = table[i]; e != null; previous = e, e = e.next) {
+					if (e == dead) {
+						if (previous == null)
+							table[i] = e.next;
+						else
+							previous.next = e.next;
+						count--;
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * A weak reference to a canonical cell, chained in its bucket.
+	 */
+	private static final class Entry extends WeakReference<ImmutableList<?>> {
+
+		/** instance variables */
+		private final int hash;
+		private Entry next;
+
+		/** constructor */
+		Entry(ImmutableList<?> l, int h, Entry n,
+				ReferenceQueue<ImmutableList<?>> queue) {
+			super(l, queue);
+			hash = h;
+			next = n;
+		}
+	}
+}
@@ -0,0 +1,256 @@
+/**********************************************
+ * ListMemo.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@link ListMemo} class remembers the results of reverse(), purge() and
+ * mergesort() for the {@link ImmutableList} instances they were computed on.
+ * An ImmutableList never changes, so asking again for the same instance can
+ * return the earlier result instead of walking and copying the list again.
+ *
+ * Lists are looked up by identity, not by equals(), which would walk both
+ * lists. They are held only weakly, so a list that is no longer used anywhere
+ * else is dropped from the memo; at most a fixed number of lists are
+ * remembered, and the least recently used list is forgotten first. A result
+ * that is the list itself, as purge() returns for a list with no duplicates,
+ * is remembered without holding the list.
+ *
+ * length() and hashCode() are not memoized here: every cell already stores
+ * both, so they cost nothing to ask for again, and neither does
+ * {@link ListSet#size()}.
+ *
+ * A memo is opt-in: share one between the callers that sort or purge the
+ * same snapshots, for example with memo.mergesort(set.getList()). Its
+ * methods are synchronized, and hits() and misses() count the lookups that
+ * were answered from the memo and those that were not.
+ */
+
+public class ListMemo {
+
+	/** instance variables */
+	private static final Object SAME = new Object();
+	private final int capacity;
+	private final Map<Key, Results> results;
+	private final ReferenceQueue<ImmutableList<?>> cleared;
+	private long hits;
+	private long misses;
+
+	/** constructor */
+	public ListMemo(int c) {
+		if (c <= 0)
+			throw new IllegalArgumentException("capacity must be positive: "
+					+ c);
+		capacity = c;
+		results = new LinkedHashMap<Key, Results>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			protected boolean removeEldestEntry(Map.Entry<Key, Results> e) {
+				return size() > capacity;
+			}
+		};
+		cleared = new ReferenceQueue<ImmutableList<?>>();
+	}
+
+	/**
+	 * Reverses a list, or returns the reversed list remembered for it.
+	 *
+	 * @param list
+	 *            the list to reverse
+	 * @return the list reversed
+	 * @see ImmutableList#reverse()
+	 */
+	public synchronized <T> ImmutableList<T> reverse(ImmutableList<T> list) {
+		Results r = lookup(list);
+		if (r.reversed != null)
+			return hit(list, r.reversed);
+		misses++;
+		ImmutableList<T> reversed = list.reverse();
+		r.reversed = remember(list, reversed);
+		return reversed;
+	}
+
+	/**
+	 * Removes the duplicates from a list, or returns the purged list
+	 * remembered for it.
+	 *
+	 * @param list
+	 *            the list to purge
+	 * @return the list without duplicates
+	 * @see ImmutableList#purge()
+	 */
+	public synchronized <T> ImmutableList<T> purge(ImmutableList<T> list) {
+		Results r = lookup(list);
+		if (r.purged != null)
+			return hit(list, r.purged);
+		misses++;
+		ImmutableList<T> purged = list.purge();
+		r.purged = remember(list, purged);
+		return purged;
+	}
+
+	/**
+	 * Sorts a list of {@link Comparable} elements into their natural order,
+	 * or returns the sorted list remembered for it.
+	 *
+	 * @param list
+	 *            the list to sort
+	 * @return the list sorted
+	 * @see ImmutableList#mergesort()
+	 */
+	public <T> ImmutableList<T> mergesort(ImmutableList<T> list) {
+		return mergesort(list, ListSort.NATURAL_ORDER);
+	}
+
+	/**
+	 * Sorts a list into the order given by a {@link Comparator}, or returns
+	 * the sorted list remembered for it. One sorted list is remembered for
+	 * each list, for the last Comparator it was sorted by.
+	 *
+	 * @param list
+	 *            the list to sort
+	 * @param c
+	 *            the order to sort by
+	 * @return the list sorted
+	 * @see ImmutableList#mergesort(Comparator)
+	 */
+	public synchronized <T> ImmutableList<T> mergesort(ImmutableList<T> list,
+			Comparator<? super T> c) {
+		Results r = lookup(list);
+		if (r.sorted != null && r.order == c)
+			return hit(list, r.sorted);
+		misses++;
+		ImmutableList<T> sorted = list.mergesort(c);
+		r.sorted = remember(list, sorted);
+		r.order = c;
+		return sorted;
+	}
+
+	/**
+	 * Counts the lookups that were answered from the memo.
+	 *
+	 * @return the number of hits
+	 */
+	public synchronized long hits() {
+		return hits;
+	}
+
+	/**
+	 * Counts the lookups that had to compute their result.
+	 *
+	 * @return the number of misses
+	 */
+	public synchronized long misses() {
+		return misses;
+	}
+
+	/**
+	 * Counts the lists the memo holds results for.
+	 *
+	 * @return the number of lists remembered
+	 */
+	public synchronized int size() {
+		expunge();
+		return results.size();
+	}
+
+	/**
+	 * Forgets every result and resets the hit and miss counts.
+	 */
+	public synchronized void clear() {
+		results.clear();
+		hits = 0;
+		misses = 0;
+	}
+
+	/**
+	 * Finds the results remembered for a list, adding an empty entry for it
+	 * if there are none.
+	 */
+	private Results lookup(ImmutableList<?> list) {
+		expunge();
+		Key key = new Key(list, null);
+		Results r = results.get(key);
+		if (r == null) {
+			r = new Results();
+			results.put(new Key(list, cleared), r);
+		}
+		return r;
+	}
+
+	/**
+	 * Counts a hit and returns a remembered result.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> ImmutableList<T> hit(ImmutableList<T> list, Object result) {
+		hits++;
+		return result == SAME ? list : (ImmutableList<T>) result;
+	}
+
+	/**
+	 * Returns what to remember for a result: the result itself, or a marker
+	 * if it is the list, so that the memo does not keep the list alive.
+	 */
+	private static Object remember(ImmutableList<?> list,
+			ImmutableList<?> result) {
+		return result == list ? SAME : result;
+	}
+
+	/**
+	 * Removes the entries of lists that have been garbage collected.
+	 */
+	private void expunge() {
+		Object key;
+		while ((key = cleared.poll()) != null)
+			results.remove(key);
+	}
+
+	/**
+	 * A weak reference to a list, equal only to references to the same
+	 * instance.
+	 */
+	private static final class Key extends WeakReference<ImmutableList<?>> {
+
+		/** instance variables */
+		private final int hash;
+
+		/** constructor */
+		Key(ImmutableList<?> list, ReferenceQueue<ImmutableList<?>> queue) {
+			super(list, queue);
+			hash = System.identityHashCode(list);
+		}
+
+		public int hashCode() {
+			return hash;
+		}
+
+		public boolean equals(Object o) {
+			if (this == o)
+				return true;
+			if (!(o instanceof Key))
+				return false;
+			ImmutableList<?> list = get();
+			return list != null && list == ((Key) o).get();
+		}
+	}
+
+	/**
+	 * The results remembered for one list.
+	 */
+	private static final class Results {
+
+		/** instance variables */
+		private Object reversed;
+		private Object purged;
+		private Object sorted;
+		private Comparator<?> order;
+	}
+}
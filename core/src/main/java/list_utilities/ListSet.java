@@ -0,0 +1,317 @@
+/**********************************************
+ * ListSet.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The {@link ListSet} class creates a ListSet object and specifies the methods
+ * that can be applied to it. It implements the {@link Set} and
+ * {@link IteratorInterface} interfaces. A ListSet is a wrapped ImmutableList
+ * that implements methods from those interfaces.
+ *
+ * union and intersection read the list of another ListSet directly, and
+ * iterate over the elements of any other kind of {@link Set}.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+
+public class ListSet<T> implements Set<T>, IteratorInterface<T> {
+
+	/** instance variables */
+	protected ImmutableList<T> list;
+	private ImmutableList<T> cursor;
+	private ImmutableList<T> cursorList;
+
+	/** constructor */
+	public ListSet(ImmutableList<T> a) {
+		list = a;
+	}
+
+	/**
+	 * Accesses the {@link ImmutableList} underlying a {@link ListSet}.
+	 * 
+	 * @return list the underlying {@link ImmutableList}
+	 */
+	public ImmutableList<T> getList() {
+		return list;
+	}
+
+	/**
+	 * Calculates the size of the set by calling the length() method from
+	 * {@link ImmutableList} class.
+	 * 
+	 * @return int representing the number of elements in the set
+	 */
+	public int size() {
+		return list.length();
+	}
+
+	/**
+	 * Checks if the set is empty or not by calling the isEmpty() method from
+	 * {@link ImmutableList} class.
+	 * 
+	 * @return true if the set is empty, false if the set is not empty
+	 */
+	public boolean isEmpty() {
+		return list.isEmpty();
+	}
+
+	/**
+	 * Checks whether a specified Object is a member of the set or not.
+	 * 
+	 * @param object
+	 *            the Object to check whether or not a member of the set
+	 * @return true if the Object is a member, false if the Object is not a
+	 *         member
+	 */
+	public boolean isMember(Object object) {
+		return !list.find(object).isEmpty();
+	}
+
+	/**
+	 * Creates a new set with the union of this set and another set. Does not
+	 * modify the current set.
+	 * 
+	 * @param otherSet
+	 *            set to union with
+	 * @return finalSet the union of this set and the other set
+	 */
+	public Set<T> union(Set<T> otherSet) {
+		ImmutableList<T> unionList = list;
+		unionList = unionList.append(listOf(otherSet));
+		unionList = unionList.purge();
+		ListSet<T> unionSet = new ListSet<T>(unionList);
+		Set<T> finalSet = unionSet;
+		return finalSet;
+	}
+
+	/**
+	 * Creates a new set with the intersection of this set and another set. Does
+	 * not modify the current set.
+	 * 
+	 * @param otherSet
+	 *            set to intersect with
+	 * @return finalSet intersection of this set and the other set
+	 */
+	public Set<T> intersection(Set<T> otherSet) {
+		ListBuilder<T> common = new ListBuilder<T>(otherSet.size());
+		for (ImmutableList<T> l = listOf(otherSet); !l.isEmpty(); l = l
+				.tail()) {
+			if (isMember(l.head()))
+				common.add(l.head());
+		}
+		ImmutableList<T> intersectionList = common.build().purge();
+		ListSet<T> intersectionSet = new ListSet<T>(intersectionList);
+		Set<T> finalSet = intersectionSet;
+		return finalSet;
+	}
+
+	/**
+	 * Creates a new set with the union of this set and another set, using a
+	 * {@link ParallelListOps} to split the work across threads. Gives the same
+	 * result as {@link #union(Set)}. Does not modify the current set.
+	 * 
+	 * @param otherSet
+	 *            set to union with
+	 * @param ops
+	 *            the pool and sequential threshold to use
+	 * @return the union of this set and the other set
+	 */
+	public Set<T> union(Set<T> otherSet, ParallelListOps ops) {
+		return ops.union(this, otherSet);
+	}
+
+	/**
+	 * Creates a new set with the intersection of this set and another set,
+	 * using a {@link ParallelListOps} to split the work across threads. Gives
+	 * the same result as {@link #intersection(Set)}. Does not modify the
+	 * current set.
+	 * 
+	 * @param otherSet
+	 *            set to intersect with
+	 * @param ops
+	 *            the pool and sequential threshold to use
+	 * @return the intersection of this set and the other set
+	 */
+	public Set<T> intersection(Set<T> otherSet, ParallelListOps ops) {
+		return ops.intersection(this, otherSet);
+	}
+
+	/**
+	 * Creates a copy of the current set. Does not modify the current set.
+	 * 
+	 * @return finalSet the copy of this set
+	 */
+	public Set<T> copy() {
+		ListSet<T> listCopy = this;
+		Set<T> finalSet = listCopy;
+		return finalSet;
+	}
+
+	/**
+	 * Adds an element to this set by calling the insert(T d) method
+	 * from the {@link ImmutableList} class, which keeps elements that are
+	 * {@link Comparable} in their natural order.
+	 * 
+	 * @param object
+	 *            object to add
+	 */
+	public void add(T object) {
+		list = list.insert(object);
+	}
+
+	/**
+	 * Removes an Object from this set by calling the delete(Object object)
+	 * method from the {@link ImmutableList} class.
+	 * 
+	 * @param object
+	 *            object to delete
+	 */
+	public void remove(Object object) {
+		list = list.delete(object);
+	}
+
+	/**
+	 * Returns the {@link Iterator} that will iterate through the elements of
+	 * this set.
+	 * 
+	 * @return {@link Iterator} for this set
+	 */
+	public Iterator<T> iterator() {
+		return new Iterator<T>(this);
+	}
+
+	/**
+	 * Returns a {@link Spliterator} over the elements of this set, so the set
+	 * can be used as the source of a (parallel) stream.
+	 * 
+	 * @return {@link Spliterator} for this set
+	 */
+	public Spliterator<T> spliterator() {
+		return new ListSpliterator<T>(list, 0, null);
+	}
+
+	/**
+	 * Returns a sequential {@link Stream} of the elements of this set.
+	 * 
+	 * @return Stream of the elements of this set
+	 */
+	public Stream<T> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * Returns a parallel {@link Stream} of the elements of this set.
+	 * 
+	 * @return Stream of the elements of this set
+	 */
+	public Stream<T> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
+	/**
+	 * Checks if the set contains a next element. The set keeps one cursor of
+	 * its own, which starts at the first element the first time hasNext() or
+	 * next() is called. Once the cursor has run out, or the set has been
+	 * changed since it started, the next call starts it again at the first
+	 * element of the set as it is then. Prefer {@link #iterator()}, which
+	 * gives each caller a cursor of its own.
+	 * 
+	 * @return true if the set contains a next element, false otherwise
+	 */
+	public boolean hasNext() {
+		if (cursor == null || cursorList != list) {
+			cursor = list;
+			cursorList = list;
+		}
+		if (cursor.isEmpty()) {
+			cursor = null;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Accesses the next element of the set and moves the set's cursor past
+	 * it.
+	 * 
+	 * @return the next object
+	 * @throws NoSuchElementException
+	 *             if there are no more elements
+	 */
+	public T next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		T d = cursor.head();
+		cursor = cursor.tail();
+		return d;
+	}
+
+	/**
+	 * Creates an empty copy of this set. Does not modify the current set.
+	 * 
+	 * @return emptySet an empty copy of this set
+	 */
+	public Set<T> empty() {
+		ListSet<T> emptyList = new ListSet<T>(ImmutableList.<T> nil());
+		Set<T> emptySet = emptyList;
+		return emptySet;
+	}
+
+	/**
+	 * Creates a String version of this set.
+	 * 
+	 * @return str the String representing this set.
+	 */
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		try {
+			appendTo(str);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return str.toString();
+	}
+
+	/**
+	 * Writes the String version of this set to an {@link Appendable} such as
+	 * a {@link java.io.Writer}, in one pass over the set and without building
+	 * the whole String first.
+	 * 
+	 * @param out
+	 *            the Appendable to write to
+	 * @return out
+	 * @throws IOException
+	 *             if out cannot be written to
+	 */
+	public <A extends Appendable> A appendTo(A out) throws IOException {
+		ImmutableList.appendTo(out, list, '{', '}');
+		return out;
+	}
+
+	/**
+	 * Returns the elements of a set as a list: the list of a ListSet itself,
+	 * or the elements of any other set in the order its iterator gives them.
+	 * 
+	 * @param set
+	 *            the set whose elements are wanted
+	 * @return the elements of the set
+	 */
+	static <T> ImmutableList<T> listOf(Set<T> set) {
+		if (set instanceof ListSet)
+			return ((ListSet<T>) set).getList();
+		ListBuilder<T> elements = new ListBuilder<T>(set.size());
+		for (T d : set)
+			elements.add(d);
+		return elements.build();
+	}
+}
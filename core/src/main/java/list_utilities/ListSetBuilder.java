@@ -0,0 +1,143 @@
+/**********************************************
+ * ListSetBuilder.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The {@link ListSetBuilder} class builds a set from many elements at once.
+ * Adding n elements one at a time with {@link ListSet#add(Object)} inserts
+ * each one into a sorted list, which copies the front of the list every time
+ * and takes O(n^2) time. A ListSetBuilder instead collects the elements in a
+ * growable {@link ElementBuffer}, and build() sorts them once, drops the
+ * duplicates and creates the cells of the set's list, which takes O(n log n)
+ * time, or O(n) when the elements were added in order.
+ *
+ * The result is a {@link SortedListSet}, whose list is in the same sorted
+ * order as the one the adds would have produced but holds each element only
+ * once. A builder can be used for one set only: once build() has been called,
+ * any further call throws an IllegalStateException, and so does adding it to
+ * another builder.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+
+public final class ListSetBuilder<T> {
+
+	/** instance variables */
+	private final Comparator<? super T> comparator;
+	private final ElementBuffer elements;
+
+	/** constructor */
+	public ListSetBuilder() {
+		this(ListSort.NATURAL_ORDER);
+	}
+
+	/**
+	 * Creates a ListSetBuilder for a set ordered by a {@link Comparator}.
+	 *
+	 * @param c
+	 *            the order to keep the elements in
+	 */
+	public ListSetBuilder(Comparator<? super T> c) {
+		comparator = c;
+		elements = new ElementBuffer(16, "set");
+	}
+
+	/**
+	 * Adds an Object to the set being built. Adding an Object that was
+	 * already added has no effect on the result.
+	 *
+	 * @param d
+	 *            the Object to add
+	 * @return this builder
+	 * @throws IllegalStateException
+	 *             if the set has already been built
+	 */
+	public ListSetBuilder<T> add(T d) {
+		elements.add(d);
+		return this;
+	}
+
+	/**
+	 * Adds every element of an {@link ImmutableList} to the set being built.
+	 *
+	 * @param a
+	 *            the list whose elements are added
+	 * @return this builder
+	 * @throws IllegalStateException
+	 *             if the set has already been built
+	 */
+	public ListSetBuilder<T> addAll(ImmutableList<? extends T> a) {
+		elements.addAll(a);
+		return this;
+	}
+
+	/**
+	 * Adds every element added to another builder to the set being built. The
+	 * other builder is not changed.
+	 *
+	 * @param other
+	 *            the builder whose elements are added
+	 * @return this builder
+	 * @throws IllegalStateException
+	 *             if this set or the other builder's set has already been
+	 *             built
+	 */
+	public ListSetBuilder<T> addAll(ListSetBuilder<? extends T> other) {
+		elements.addAll(other.elements);
+		return this;
+	}
+
+	/**
+	 * Creates the {@link SortedListSet} of the elements added, without
+	 * duplicates. The builder cannot be used afterwards.
+	 *
+	 * @return the built set
+	 * @throws IllegalStateException
+	 *             if the set has already been built
+	 */
+	public SortedListSet<T> build() {
+		int count = elements.count();
+		Object[] a = elements.freeze();
+		Comparator<Object> c = order(a, count);
+		if (!isSorted(a, count, c))
+			Arrays.sort(a, 0, count, c);
+		int n = 0;
+		for (int i = 0; i < count; i++) {
+			if (n == 0 || c.compare(a[n - 1], a[i]) != 0)
+				a[n++] = a[i];
+		}
+		ImmutableList<T> list = ImmutableList.prependAll(a, n, ImmutableList
+				.<T> nil());
+		return SortedListSet.fromSorted(list, comparator);
+	}
+
+	/**
+	 * Checks whether the first count elements of an array are in order, so
+	 * that sorting them can be skipped.
+	 */
+	private static boolean isSorted(Object[] a, int count,
+			Comparator<Object> c) {
+		for (int i = 1; i < count; i++) {
+			if (c.compare(a[i - 1], a[i]) > 0)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the order to sort the elements by, using the order for one type
+	 * from {@link ListSort} if the first element added has one.
+	 */
+	@SuppressWarnings("unchecked")
+	private Comparator<Object> order(Object[] a, int count) {
+		return (Comparator<Object>) ListSort.specialize(comparator,
+				count == 0 ? null : (T) a[0]);
+	}
+}
@@ -0,0 +1,267 @@
+/**********************************************
+ * ListSort.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The {@link ListSort} class sorts {@link ImmutableList}s. All of its sorts are
+ * stable mergesorts that take a {@link Comparator}, and run in O(n log n)
+ * time.
+ *
+ * mergesort splits a list into halves in one pass, copying the cells of the
+ * first half and sharing those of the second, and merges the sorted halves in
+ * linear time. naturalMergesort instead cuts the list into the runs that are
+ * already in order (reversing strictly descending runs) and merges
+ * neighbouring runs until one is left, so input that is already mostly sorted
+ * costs close to linear time.
+ *
+ * Merging pushes the smaller head onto an accumulator and, once either list
+ * runs out, pushes the accumulator back onto whatever is left of the other
+ * list, so the leftover cells are shared rather than copied.
+ *
+ * {@link #NATURAL_ORDER} compares any {@link Comparable} elements through an
+ * interface call the JIT cannot inline once it has seen several element
+ * types. The sorts therefore swap it for {@link #INTEGER_ORDER},
+ * {@link #LONG_ORDER} or {@link #STRING_ORDER} when the list holds Integers,
+ * Longs or Strings (judged by its first element): each is a final class that
+ * compares one type directly, so its compare() is inlined into the merge
+ * loop. They order elements exactly as NATURAL_ORDER does.
+ */
+
+public final class ListSort {
+
+	/** the order of elements that are {@link Comparable} */
+	public static final Comparator<Object> NATURAL_ORDER = new NaturalOrder();
+
+	/** the natural order of Integers */
+	public static final Comparator<Integer> INTEGER_ORDER = new IntegerOrder();
+
+	/** the natural order of Longs */
+	public static final Comparator<Long> LONG_ORDER = new LongOrder();
+
+	/** the natural order of Strings */
+	public static final Comparator<String> STRING_ORDER = new StringOrder();
+
+	/** constructor */
+	private ListSort() {
+	}
+
+	/**
+	 * Mergesorts an {@link ImmutableList} by splitting it into halves.
+	 *
+	 * @param list
+	 *            the list to sort
+	 * @param c
+	 *            the order to sort by
+	 * @return a sorted list with the elements of list
+	 */
+	public static <T> ImmutableList<T> mergesort(ImmutableList<T> list,
+			Comparator<? super T> c) {
+		return mergesort(list, list.length(), specialize(c, list.head()));
+	}
+
+	/**
+	 * Mergesorts an {@link ImmutableList} by merging the runs of elements that
+	 * are already in order.
+	 *
+	 * @param list
+	 *            the list to sort
+	 * @param c
+	 *            the order to sort by
+	 * @return a sorted list with the elements of list
+	 */
+	public static <T> ImmutableList<T> naturalMergesort(ImmutableList<T> list,
+			Comparator<? super T> c) {
+		c = specialize(c, list.head());
+		ArrayList<ImmutableList<T>> runs = runs(list, c);
+		if (runs.isEmpty())
+			return list;
+		while (runs.size() > 1) {
+			ArrayList<ImmutableList<T>> merged;
+			merged = new ArrayList<ImmutableList<T>>((runs.size() + 1) / 2);
+			for (int i = 0; i + 1 < runs.size(); i += 2)
+				merged.add(merge(runs.get(i), runs.get(i + 1), c));
+			if (runs.size() % 2 != 0)
+				merged.add(runs.get(runs.size() - 1));
+			runs = merged;
+		}
+		return runs.get(0);
+	}
+
+	/**
+	 * Merges two sorted lists into one sorted list. When elements are equal,
+	 * those from left come first.
+	 *
+	 * @param left
+	 *            a sorted list
+	 * @param right
+	 *            a sorted list
+	 * @param c
+	 *            the order both lists are sorted by
+	 * @return a sorted list with the elements of both lists
+	 */
+	public static <T> ImmutableList<T> merge(ImmutableList<T> left,
+			ImmutableList<T> right, Comparator<? super T> c) {
+		c = specialize(c, left.head());
+		ImmutableList<T> acc = ImmutableList.nil();
+		while (!left.isEmpty() && !right.isEmpty()) {
+			if (c.compare(right.head(), left.head()) < 0) {
+				acc = acc.push(right.head());
+				right = right.tail();
+			} else {
+				acc = acc.push(left.head());
+				left = left.tail();
+			}
+		}
+		return reverseOnto(acc, left.isEmpty() ? right : left);
+	}
+
+	/**
+	 * Mergesorts the first n elements of a list of exactly n elements.
+	 */
+	private static <T> ImmutableList<T> mergesort(ImmutableList<T> list,
+			int n, Comparator<? super T> c) {
+		if (n < 2)
+			return list;
+		int half = n / 2;
+		Object[] prefix = new Object[half];
+		ImmutableList<T> rest = list;
+		for (int i = 0; i < half; i++) {
+			prefix[i] = rest.head();
+			rest = rest.tail();
+		}
+		ImmutableList<T> left = ImmutableList.prependAll(prefix, half,
+				ImmutableList.<T> nil());
+		return merge(mergesort(left, half, c), mergesort(rest, n - half, c), c);
+	}
+
+	/**
+	 * Cuts a list into its maximal non-descending and strictly descending
+	 * runs, with the descending runs reversed. A run that reaches the end of
+	 * the list in ascending order is shared rather than copied.
+	 */
+	private static <T> ArrayList<ImmutableList<T>> runs(ImmutableList<T> list,
+			Comparator<? super T> c) {
+		ArrayList<ImmutableList<T>> runs = new ArrayList<ImmutableList<T>>();
+		Object[] buffer = new Object[16];
+		while (!list.isEmpty()) {
+			ImmutableList<T> start = list;
+			T previous = list.head();
+			list = list.tail();
+			if (!list.isEmpty() && c.compare(list.head(), previous) < 0) {
+				ImmutableList<T> run = ImmutableList.list(previous);
+				while (!list.isEmpty()
+						&& c.compare(list.head(), previous) < 0) {
+					previous = list.head();
+					run = run.push(previous);
+					list = list.tail();
+				}
+				runs.add(run);
+			} else {
+				buffer[0] = previous;
+				int n = 1;
+				while (!list.isEmpty()
+						&& c.compare(list.head(), previous) >= 0) {
+					previous = list.head();
+					if (n == buffer.length)
+						buffer = Arrays.copyOf(buffer, 2 * n);
+					buffer[n++] = previous;
+					list = list.tail();
+				}
+				if (list.isEmpty())
+					runs.add(start);
+				else
+					runs.add(ImmutableList.prependAll(buffer, n,
+							ImmutableList.<T> nil()));
+			}
+		}
+		return runs;
+	}
+
+	/**
+	 * Pushes every element of acc onto tail, so that the last element of acc
+	 * becomes the head of the result.
+	 */
+	private static <T> ImmutableList<T> reverseOnto(ImmutableList<T> acc,
+			ImmutableList<T> tail) {
+		while (!acc.isEmpty()) {
+			tail = tail.push(acc.head());
+			acc = acc.tail();
+		}
+		return tail;
+	}
+
+	/**
+	 * Returns the order to sort by in place of c: one of the orders for a
+	 * single type if c is the natural order and the sample element is an
+	 * Integer, Long or String, and c itself otherwise.
+	 *
+	 * @param c
+	 *            the order asked for
+	 * @param sample
+	 *            an element of the list to be sorted, or null if it is empty
+	 * @return an order that sorts the list the same way as c
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> Comparator<? super T> specialize(Comparator<? super T> c,
+			T sample) {
+		if (c != NATURAL_ORDER)
+			return c;
+		Comparator<?> order = c;
+		if (sample instanceof Integer)
+			order = INTEGER_ORDER;
+		else if (sample instanceof Long)
+			order = LONG_ORDER;
+		else if (sample instanceof String)
+			order = STRING_ORDER;
+		return (Comparator<? super T>) order;
+	}
+
+	/**
+	 * The {@link NaturalOrder} class compares elements through their
+	 * {@link Comparable} implementation.
+	 */
+	private static final class NaturalOrder implements Comparator<Object> {
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public int compare(Object a, Object b) {
+			return ((Comparable) a).compareTo(b);
+		}
+	}
+
+	/**
+	 * The {@link IntegerOrder} class compares Integers by value.
+	 */
+	private static final class IntegerOrder implements Comparator<Integer> {
+
+		public int compare(Integer a, Integer b) {
+			return Integer.compare(a.intValue(), b.intValue());
+		}
+	}
+
+	/**
+	 * The {@link LongOrder} class compares Longs by value.
+	 */
+	private static final class LongOrder implements Comparator<Long> {
+
+		public int compare(Long a, Long b) {
+			return Long.compare(a.longValue(), b.longValue());
+		}
+	}
+
+	/**
+	 * The {@link StringOrder} class compares Strings lexicographically.
+	 */
+	private static final class StringOrder implements Comparator<String> {
+
+		public int compare(String a, String b) {
+			return a.compareTo(b);
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/**********************************************
+ * ListSpliterator.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * The {@link ListSpliterator} class is a {@link Spliterator} over the elements
+ * of an {@link ImmutableList}, so that a list or a {@link ListSet} can be the
+ * source of a (parallel) stream.
+ *
+ * It walks the cells of the list like an {@link Iterator}. A list cannot be
+ * split in the middle without walking to it, so trySplit() copies the first
+ * half of the remaining elements into an array and hands that off, keeping
+ * the second half as a list. The part handed off splits further by index.
+ * Every part knows its exact size, so the spliterator is always SIZED and
+ * SUBSIZED.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+
+final class ListSpliterator<T> implements Spliterator<T> {
+
+	/** instance variables */
+	private static final int MIN_SPLIT = 64;
+	private ImmutableList<T> list;
+	private final Object[] array;
+	private int index;
+	private int end;
+	private final int characteristics;
+	private final Comparator<? super T> comparator;
+
+	/**
+	 * Creates a ListSpliterator over the elements of a list.
+	 *
+	 * @param a
+	 *            the list to walk
+	 * @param extra
+	 *            characteristics to report in addition to ORDERED, SIZED,
+	 *            SUBSIZED and IMMUTABLE, such as SORTED and DISTINCT
+	 * @param c
+	 *            the order of the elements if SORTED, or null if they are in
+	 *            their natural order
+	 */
+	ListSpliterator(ImmutableList<T> a, int extra, Comparator<? super T> c) {
+		this(a, null, 0, a.length(), extra | ORDERED | SIZED | SUBSIZED
+				| IMMUTABLE, c);
+	}
+
+	/** constructor */
+	private ListSpliterator(ImmutableList<T> a, Object[] elements, int from,
+			int to, int ch, Comparator<? super T> c) {
+		list = a;
+		array = elements;
+		index = from;
+		end = to;
+		characteristics = ch;
+		comparator = c;
+	}
+
+	/**
+	 * Performs the action on the next element, if there is one.
+	 *
+	 * @return true if there was a next element, false otherwise
+	 */
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if (index >= end)
+			return false;
+		index++;
+		if (array != null)
+			action.accept(element(index - 1));
+		else {
+			T d = list.head();
+			list = list.tail();
+			action.accept(d);
+		}
+		return true;
+	}
+
+	/**
+	 * Performs the action on every remaining element.
+	 */
+	public void forEachRemaining(Consumer<? super T> action) {
+		if (array != null) {
+			for (; index < end; index++)
+				action.accept(element(index));
+			return;
+		}
+		ImmutableList<T> l = list;
+		list = ImmutableList.nil();
+		index = end;
+		for (; !l.isEmpty(); l = l.tail())
+			action.accept(l.head());
+	}
+
+	/**
+	 * Hands off the first half of the remaining elements to a new
+	 * ListSpliterator.
+	 *
+	 * @return a ListSpliterator over the first half, or null if too few
+	 *         elements remain to be worth splitting
+	 */
+	public Spliterator<T> trySplit() {
+		int half = (end - index) >>> 1;
+		if (half < MIN_SPLIT)
+			return null;
+		int from = index;
+		index += half;
+		if (array != null)
+			return new ListSpliterator<T>(null, array, from, index,
+					characteristics, comparator);
+		Object[] prefix = new Object[half];
+		for (int i = 0; i < half; i++) {
+			prefix[i] = list.head();
+			list = list.tail();
+		}
+		return new ListSpliterator<T>(null, prefix, 0, half, characteristics,
+				comparator);
+	}
+
+	/**
+	 * Returns the exact number of elements that remain.
+	 */
+	public long estimateSize() {
+		return end - index;
+	}
+
+	/**
+	 * Returns the characteristics of this spliterator.
+	 */
+	public int characteristics() {
+		return characteristics;
+	}
+
+	/**
+	 * Returns the order of the elements, or null if they are in their natural
+	 * order.
+	 *
+	 * @throws IllegalStateException
+	 *             if the elements are not SORTED
+	 */
+	public Comparator<? super T> getComparator() {
+		if ((characteristics & SORTED) == 0)
+			throw new IllegalStateException();
+		return comparator;
+	}
+
+	/**
+	 * Returns an element of the array. Only elements of type T are ever
+	 * copied into it.
+	 */
+	@SuppressWarnings("unchecked")
+	private T element(int i) {
+		return (T) array[i];
+	}
+}
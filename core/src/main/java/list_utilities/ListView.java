@@ -0,0 +1,263 @@
+/**********************************************
+ * ListView.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The {@link ListView} class is a lazily evaluated view of an
+ * {@link ImmutableList}. map, filter, take and drop do not touch the list;
+ * they only record the step and return a new view. Nothing is computed until
+ * a terminal method such as toList() or forEach(Consumer) is called, which
+ * then walks the list once and passes each element through all the steps in
+ * turn, so no intermediate list is ever built. A take step stops the walk as
+ * soon as it has seen enough elements.
+ *
+ * Views are immutable and can be shared and reused; every terminal call walks
+ * the list again.
+ *
+ * @param <T>
+ *            the type of the elements of the view
+ */
+
+public final class ListView<T> {
+
+	/** instance variables */
+	private final ImmutableList<?> source;
+	private final ListView<?> upstream;
+	private final Stage stage;
+
+	/**
+	 * Creates a view of a list with no steps.
+	 *
+	 * @param a
+	 *            the list to view
+	 */
+	public ListView(ImmutableList<T> a) {
+		this(a, null, null);
+	}
+
+	/** constructor */
+	private ListView(ImmutableList<?> a, ListView<?> u, Stage s) {
+		source = a;
+		upstream = u;
+		stage = s;
+	}
+
+	/**
+	 * Returns a view whose elements are the results of applying a function to
+	 * the elements of this view.
+	 *
+	 * @param f
+	 *            the function to apply
+	 * @return the mapped view
+	 */
+	@SuppressWarnings("unchecked")
+	public <R> ListView<R> map(final Function<? super T, ? extends R> f) {
+		return then(new Stage() {
+			public Sink wrap(final Sink downstream) {
+				return new Sink() {
+					public boolean accept(Object d) {
+						return downstream.accept(f.apply((T) d));
+					}
+				};
+			}
+		});
+	}
+
+	/**
+	 * Returns a view of the elements of this view that satisfy a predicate.
+	 *
+	 * @param p
+	 *            the predicate elements must satisfy
+	 * @return the filtered view
+	 */
+	@SuppressWarnings("unchecked")
+	public ListView<T> filter(final Predicate<? super T> p) {
+		return then(new Stage() {
+			public Sink wrap(final Sink downstream) {
+				return new Sink() {
+					public boolean accept(Object d) {
+						return !p.test((T) d) || downstream.accept(d);
+					}
+				};
+			}
+		});
+	}
+
+	/**
+	 * Returns a view of at most the first n elements of this view.
+	 *
+	 * @param n
+	 *            the number of elements to keep
+	 * @return the truncated view
+	 */
+	public ListView<T> take(final int n) {
+		return then(new Stage() {
+			public Sink wrap(final Sink downstream) {
+				return new Sink() {
+					private int left = n;
+
+					public boolean accept(Object d) {
+						if (left <= 0)
+							return false;
+						left--;
+						return downstream.accept(d) && left > 0;
+					}
+				};
+			}
+		});
+	}
+
+	/**
+	 * Returns a view of all but the first n elements of this view.
+	 *
+	 * @param n
+	 *            the number of elements to skip
+	 * @return the view without its first n elements
+	 */
+	public ListView<T> drop(final int n) {
+		return then(new Stage() {
+			public Sink wrap(final Sink downstream) {
+				return new Sink() {
+					private int left = n;
+
+					public boolean accept(Object d) {
+						if (left > 0) {
+							left--;
+							return true;
+						}
+						return downstream.accept(d);
+					}
+				};
+			}
+		});
+	}
+
+	/**
+	 * Performs an action on each element of the view, in order.
+	 *
+	 * @param action
+	 *            the action to perform
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(final Consumer<? super T> action) {
+		walk(new Sink() {
+			public boolean accept(Object d) {
+				action.accept((T) d);
+				return true;
+			}
+		});
+	}
+
+	/**
+	 * Counts the elements of the view.
+	 *
+	 * @return int the number of elements
+	 */
+	public int length() {
+		final int[] count = new int[1];
+		walk(new Sink() {
+			public boolean accept(Object d) {
+				count[0]++;
+				return true;
+			}
+		});
+		return count[0];
+	}
+
+	/**
+	 * Computes the elements of the view into a new array, in order.
+	 *
+	 * @return array of the elements of the view
+	 */
+	public Object[] toArray() {
+		final Object[][] elements = { new Object[Math.min(16,
+				source.length())] };
+		final int[] count = new int[1];
+		walk(new Sink() {
+			public boolean accept(Object d) {
+				if (count[0] == elements[0].length)
+					elements[0] = Arrays.copyOf(elements[0],
+							Math.max(16, 2 * count[0]));
+				elements[0][count[0]++] = d;
+				return true;
+			}
+		});
+		return Arrays.copyOf(elements[0], count[0]);
+	}
+
+	/**
+	 * Computes the elements of the view into a new {@link ImmutableList}.
+	 *
+	 * @return list holding the elements of the view, in order
+	 */
+	@SuppressWarnings("unchecked")
+	public ImmutableList<T> toList() {
+		if (stage == null)
+			return (ImmutableList<T>) source;
+		Object[] elements = toArray();
+		return ImmutableList.prependAll(elements, elements.length,
+				ImmutableList.<T> nil());
+	}
+
+	/**
+	 * Creates a String version of the view, computing its elements.
+	 *
+	 * @return String representing the elements of the view
+	 */
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("(");
+		forEach(new Consumer<T>() {
+			public void accept(T d) {
+				if (sb.length() > 1)
+					sb.append(' ');
+				sb.append(d);
+			}
+		});
+		return sb.append(')').toString();
+	}
+
+	/**
+	 * Returns a view that applies one more step after the steps of this view.
+	 */
+	private <R> ListView<R> then(Stage s) {
+		return new ListView<R>(source, this, s);
+	}
+
+	/**
+	 * Walks the source list once, passing each element through the steps of
+	 * this view into the sink, until the list ends or a step stops the walk.
+	 */
+	private void walk(Sink sink) {
+		for (ListView<?> v = this; v.stage != null; v = v.upstream)
+			sink = v.stage.wrap(sink);
+		for (ImmutableList<?> l = source; !l.isEmpty(); l = l.tail()) {
+			if (!sink.accept(l.head()))
+				return;
+		}
+	}
+
+	/**
+	 * A {@link Sink} receives the elements of a walk one at a time and returns
+	 * false once it wants no more.
+	 */
+	private interface Sink {
+		boolean accept(Object d);
+	}
+
+	/**
+	 * A {@link Stage} is one step of a view. It wraps the sink of the steps
+	 * after it, and is asked for a fresh sink on every walk so that steps with
+	 * counters can be reused.
+	 */
+	private interface Stage {
+		Sink wrap(Sink downstream);
+	}
+}
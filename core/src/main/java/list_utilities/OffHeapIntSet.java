@@ -0,0 +1,512 @@
+/**********************************************
+ * OffHeapIntSet.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.io.Closeable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * The {@link OffHeapIntSet} class is a {@link Set} of ints kept in native
+ * memory instead of on the Java heap. It is laid out like an {@link IntSet},
+ * an open-addressed table with linear probing where zero marks an empty slot,
+ * but the table lives in a direct {@link ByteBuffer}. However many elements
+ * the set holds, the garbage collector only sees a few small objects, so a
+ * huge set adds nothing to the time spent marking and copying the heap.
+ *
+ * isMember(int), add(int) and remove(int) allocate nothing on the heap,
+ * except when add grows the table. union and intersection with another
+ * OffHeapIntSet or an {@link IntSet} walk the other set's table in place and
+ * allocate only the result set; with any other {@link Set}, the other set's
+ * elements are copied onto the heap by its iterator.
+ *
+ * Native memory is not reclaimed until the buffer itself is collected, which
+ * can be long after the set is dropped. Call {@link #close()} (or use the set
+ * in a try-with-resources statement) to free it as soon as the set is no
+ * longer needed; any later call on the set throws an IllegalStateException.
+ *
+ * An OffHeapIntSet is not thread-safe. Like an {@link IntSet}, it must be
+ * confined to one thread or guarded by the caller's own lock. That matters
+ * more here: close() frees the memory at once, so a thread still inside
+ * another method when a second thread closes the set would read freed
+ * memory and can crash the JVM, instead of getting the exception.
+ */
+
+public class OffHeapIntSet implements Set<Integer>, Closeable {
+
+	/** instance variables */
+	private static final Object UNSAFE;
+	private static final Method INVOKE_CLEANER;
+	private ByteBuffer buffer;
+	private IntBuffer table;
+	private int capacity;
+	private int size;
+	private boolean hasZero;
+
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try {
+			Class<?> c = Class.forName("sun.misc.Unsafe");
+			Field f = c.getDeclaredField("theUnsafe");
+			f.setAccessible(true);
+			unsafe = f.get(null);
+			invokeCleaner = c.getMethod("invokeCleaner", ByteBuffer.class);
+		} catch (Exception e) {
+			unsafe = null;
+			invokeCleaner = null;
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+
+	/** constructor */
+	public OffHeapIntSet() {
+		this(0);
+	}
+
+	/**
+	 * Creates an empty OffHeapIntSet with room for the expected number of
+	 * elements before it has to resize.
+	 *
+	 * @param expectedSize
+	 *            the number of elements the set is expected to hold
+	 */
+	public OffHeapIntSet(int expectedSize) {
+		allocate(HashSet.capacityFor(expectedSize));
+		size = 0;
+		hasZero = false;
+	}
+
+	/**
+	 * Creates an OffHeapIntSet holding every element of an
+	 * {@link IntImmutableList}.
+	 *
+	 * @param a
+	 *            the {@link IntImmutableList} whose elements are added
+	 */
+	public OffHeapIntSet(IntImmutableList a) {
+		this(a.length());
+		IntIterator it = a.intIterator();
+		while (it.hasNext())
+			add(it.next());
+	}
+
+	/**
+	 * Calculates the size of the set.
+	 *
+	 * @return int representing the number of elements in the set
+	 */
+	public int size() {
+		checkOpen();
+		return size;
+	}
+
+	/**
+	 * Checks if the set is empty or not.
+	 *
+	 * @return true if the set is empty, false if the set is not empty
+	 */
+	public boolean isEmpty() {
+		checkOpen();
+		return size == 0;
+	}
+
+	/**
+	 * Checks whether a specified Object is a member of the set or not. Only
+	 * Integers can be members.
+	 *
+	 * @param object
+	 *            the Object to check whether or not a member of the set
+	 * @return true if the Object is a member, false if the Object is not a
+	 *         member
+	 */
+	public boolean isMember(Object object) {
+		return object instanceof Integer
+				&& isMember(((Integer) object).intValue());
+	}
+
+	/**
+	 * Checks whether a specified int is a member of the set or not.
+	 *
+	 * @param d
+	 *            the int to check whether or not a member of the set
+	 * @return true if the int is a member, false if the int is not a member
+	 */
+	public boolean isMember(int d) {
+		checkOpen();
+		if (d == 0)
+			return hasZero;
+		return table.get(slotOf(d)) != 0;
+	}
+
+	/**
+	 * Creates a new set with the union of this set and another set. The
+	 * result is an OffHeapIntSet, which the caller must close. Does not modify
+	 * the current set.
+	 *
+	 * @param otherSet
+	 *            set to union with
+	 * @return unionSet the union of this set and the other set
+	 */
+	public Set<Integer> union(Set<Integer> otherSet) {
+		checkOpen();
+		OffHeapIntSet unionSet = new OffHeapIntSet(size + otherSet.size());
+		unionSet.addAll(this);
+		if (otherSet instanceof OffHeapIntSet)
+			unionSet.addAll((OffHeapIntSet) otherSet);
+		else if (otherSet instanceof IntSet) {
+			IntSet other = (IntSet) otherSet;
+			if (other.hasZero())
+				unionSet.add(0);
+			for (int i = 0; i < other.capacity(); i++) {
+				int d = other.slot(i);
+				if (d != 0)
+					unionSet.add(d);
+			}
+		} else {
+			Iterator<Integer> it = otherSet.iterator();
+			while (it.hasNext())
+				unionSet.add(it.next());
+		}
+		return unionSet;
+	}
+
+	/**
+	 * Creates a new set with the intersection of this set and another set. The
+	 * result is an OffHeapIntSet, which the caller must close. Does not modify
+	 * the current set.
+	 *
+	 * @param otherSet
+	 *            set to intersect with
+	 * @return intersectionSet intersection of this set and the other set
+	 */
+	public Set<Integer> intersection(Set<Integer> otherSet) {
+		checkOpen();
+		OffHeapIntSet intersectionSet = new OffHeapIntSet(Math.min(size,
+				otherSet.size()));
+		if (otherSet instanceof OffHeapIntSet) {
+			OffHeapIntSet other = (OffHeapIntSet) otherSet;
+			other.checkOpen();
+			OffHeapIntSet small = size <= other.size ? this : other;
+			OffHeapIntSet large = small == this ? other : this;
+			if (small.hasZero && large.hasZero)
+				intersectionSet.add(0);
+			for (int i = 0; i < small.capacity; i++) {
+				int d = small.table.get(i);
+				if (d != 0 && large.isMember(d))
+					intersectionSet.add(d);
+			}
+		} else if (otherSet instanceof IntSet) {
+			IntSet other = (IntSet) otherSet;
+			if (hasZero && other.hasZero())
+				intersectionSet.add(0);
+			for (int i = 0; i < other.capacity(); i++) {
+				int d = other.slot(i);
+				if (d != 0 && isMember(d))
+					intersectionSet.add(d);
+			}
+		} else {
+			Iterator<Integer> it = otherSet.iterator();
+			while (it.hasNext()) {
+				int d = it.next();
+				if (isMember(d))
+					intersectionSet.add(d);
+			}
+		}
+		return intersectionSet;
+	}
+
+	/**
+	 * Creates a copy of the current set in new native memory, which the caller
+	 * must close. Does not modify the current set.
+	 *
+	 * @return setCopy the copy of this set
+	 */
+	public Set<Integer> copy() {
+		checkOpen();
+		OffHeapIntSet setCopy = new OffHeapIntSet(capacity / 2);
+		ByteBuffer source = buffer.duplicate();
+		source.clear();
+		setCopy.buffer.put(source);
+		setCopy.buffer.clear();
+		setCopy.size = size;
+		setCopy.hasZero = hasZero;
+		return setCopy;
+	}
+
+	/**
+	 * Adds an Integer to this set.
+	 *
+	 * @param object
+	 *            object to add
+	 */
+	public void add(Integer object) {
+		add(object.intValue());
+	}
+
+	/**
+	 * Adds an int to this set if it is not already a member.
+	 *
+	 * @param d
+	 *            int to add
+	 */
+	public void add(int d) {
+		checkOpen();
+		if (d == 0) {
+			if (!hasZero) {
+				hasZero = true;
+				size++;
+			}
+			return;
+		}
+		int slot = slotOf(d);
+		if (table.get(slot) != 0)
+			return;
+		table.put(slot, d);
+		size++;
+		if (2 * size > capacity)
+			resize(2 * capacity);
+	}
+
+	/**
+	 * Removes an Object from this set. Does nothing if the Object is not a
+	 * member.
+	 *
+	 * @param object
+	 *            object to delete
+	 */
+	public void remove(Object object) {
+		if (object instanceof Integer)
+			remove(((Integer) object).intValue());
+	}
+
+	/**
+	 * Removes an int from this set. Does nothing if the int is not a member.
+	 *
+	 * @param d
+	 *            int to delete
+	 */
+	public void remove(int d) {
+		checkOpen();
+		if (d == 0) {
+			if (hasZero) {
+				hasZero = false;
+				size--;
+			}
+			return;
+		}
+		int slot = slotOf(d);
+		if (table.get(slot) == 0)
+			return;
+		table.put(slot, 0);
+		size--;
+		int mask = capacity - 1;
+		int hole = slot;
+		for (int i = (slot + 1) & mask; table.get(i) != 0; i = (i + 1) & mask) {
+			int home = IntSet.hash(table.get(i)) & mask;
+			if (((i - home) & mask) >= ((i - hole) & mask)) {
+				table.put(hole, table.get(i));
+				table.put(i, 0);
+				hole = i;
+			}
+		}
+	}
+
+	/**
+	 * Returns the {@link Iterator} that will iterate through the elements of
+	 * this set. The elements are copied onto the heap; prefer
+	 * {@link #intIterator()}, which does not box.
+	 *
+	 * @return {@link Iterator} for this set
+	 */
+	public Iterator<Integer> iterator() {
+		return new Iterator<Integer>(toList());
+	}
+
+	/**
+	 * Returns an {@link IntIterator} over the elements of this set, in no
+	 * particular order. The elements are first copied into an int array on
+	 * the heap.
+	 *
+	 * @return {@link IntIterator} for this set
+	 */
+	public IntIterator intIterator() {
+		return toIntList().intIterator();
+	}
+
+	/**
+	 * Creates an empty copy of this set, which the caller must close. Does not
+	 * modify the current set.
+	 *
+	 * @return an empty copy of this set
+	 */
+	public Set<Integer> empty() {
+		return new OffHeapIntSet();
+	}
+
+	/**
+	 * Frees the native memory of this set. The set cannot be used afterwards.
+	 * Closing a set that is already closed has no effect. No other call on
+	 * the set may be in progress in another thread.
+	 */
+	public void close() {
+		if (buffer != null)
+			free();
+	}
+
+	/**
+	 * Creates an {@link IntImmutableList} of the elements of this set, on the
+	 * heap, in no particular order.
+	 *
+	 * @return the elements of this set
+	 */
+	public IntImmutableList toIntList() {
+		checkOpen();
+		int[] elements = new int[size];
+		int n = 0;
+		if (hasZero)
+			elements[n++] = 0;
+		for (int i = 0; i < capacity; i++) {
+			int d = table.get(i);
+			if (d != 0)
+				elements[n++] = d;
+		}
+		return IntImmutableList.adopt(elements, n);
+	}
+
+	/**
+	 * Creates an {@link ImmutableList} of the elements of this set, boxed, in
+	 * no particular order.
+	 *
+	 * @return list the elements of this set
+	 */
+	public ImmutableList<Integer> toList() {
+		int[] elements = toIntList().toArray();
+		return IntReader.toList(elements, elements.length);
+	}
+
+	/**
+	 * Creates a String version of this set.
+	 *
+	 * @return String representing this set
+	 */
+	public String toString() {
+		if (buffer == null)
+			return "{closed}";
+		StringBuilder sb = new StringBuilder("{");
+		IntIterator it = intIterator();
+		while (it.hasNext()) {
+			sb.append(it.next());
+			if (it.hasNext())
+				sb.append(' ');
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * Adds every element of another OffHeapIntSet to this set.
+	 *
+	 * @param other
+	 *            the set whose elements are added
+	 */
+	private void addAll(OffHeapIntSet other) {
+		other.checkOpen();
+		if (other.hasZero)
+			add(0);
+		for (int i = 0; i < other.capacity; i++) {
+			int d = other.table.get(i);
+			if (d != 0)
+				add(d);
+		}
+	}
+
+	/**
+	 * Finds the slot holding a non-zero int, or the empty slot where it would
+	 * be stored if it is not a member.
+	 *
+	 * @param d
+	 *            the int to look for
+	 * @return int the index of the slot in the table
+	 */
+	private int slotOf(int d) {
+		int mask = capacity - 1;
+		int i = IntSet.hash(d) & mask;
+		int e;
+		while ((e = table.get(i)) != 0 && e != d)
+			i = (i + 1) & mask;
+		return i;
+	}
+
+	/**
+	 * Moves every element into a new table of the given capacity and frees
+	 * the old one.
+	 *
+	 * @param newCapacity
+	 *            the new capacity, a power of two
+	 */
+	private void resize(int newCapacity) {
+		ByteBuffer oldBuffer = buffer;
+		IntBuffer oldTable = table;
+		int oldCapacity = capacity;
+		allocate(newCapacity);
+		for (int i = 0; i < oldCapacity; i++) {
+			int d = oldTable.get(i);
+			if (d != 0)
+				table.put(slotOf(d), d);
+		}
+		clean(oldBuffer);
+	}
+
+	/**
+	 * Allocates a zeroed table of the given capacity in native memory.
+	 */
+	private void allocate(int newCapacity) {
+		if (newCapacity > (1 << 29))
+			throw new IllegalStateException("set too large");
+		buffer = ByteBuffer.allocateDirect(4 * newCapacity).order(
+				ByteOrder.nativeOrder());
+		table = buffer.asIntBuffer();
+		capacity = newCapacity;
+	}
+
+	/**
+	 * Frees the table and marks the set as closed.
+	 */
+	private void free() {
+		ByteBuffer b = buffer;
+		buffer = null;
+		table = null;
+		capacity = 0;
+		clean(b);
+	}
+
+	/**
+	 * Throws an IllegalStateException if the set has been closed.
+	 */
+	private void checkOpen() {
+		if (buffer == null)
+			throw new IllegalStateException("set is closed");
+	}
+
+	/**
+	 * Frees the native memory of a direct buffer, or unmaps a mapped one,
+	 * right away if the JVM allows it, and otherwise leaves it for the garbage
+	 * collector. {@link MappedIntSet} uses it to unmap its file.
+	 */
+	static void clean(ByteBuffer b) {
+		if (INVOKE_CLEANER == null)
+			return;
+		try {
+			INVOKE_CLEANER.invoke(UNSAFE, b);
+		} catch (Exception e) {
+			return;
+		}
+	}
+}
@@ -0,0 +1,358 @@
+/**********************************************
+ * ParallelListOps.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@link ParallelListOps} class runs mergesort, union and intersection on
+ * a {@link ForkJoinPool}. Inputs with fewer elements than the sequential
+ * threshold are handed to the ordinary single-threaded methods, and larger
+ * inputs give exactly the same result as those methods would.
+ *
+ * Sorting copies the list into an array, sorts chunks of at most threshold
+ * elements in parallel and merges neighbouring chunks in parallel. Both this
+ * and {@link ListSort#mergesort(ImmutableList, Comparator)} are stable, so
+ * they agree even on elements that compare equal.
+ *
+ * Union and intersection split the elements into partitions by hash range.
+ * Equal elements always fall in the same partition, so each partition can
+ * find its duplicates and common elements on its own; the result list is
+ * then put together in the same order the sequential method produces.
+ */
+
+public class ParallelListOps {
+
+	/** instance variables */
+	public static final int DEFAULT_THRESHOLD = 8192;
+	private final ForkJoinPool pool;
+	private final int threshold;
+
+	/** constructor */
+	public ParallelListOps() {
+		this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Creates a ParallelListOps that runs on the given pool.
+	 *
+	 * @param pool
+	 *            the pool to run tasks on
+	 * @param threshold
+	 *            inputs with fewer elements than this, and chunks of at most
+	 *            this many elements, are handled sequentially
+	 */
+	public ParallelListOps(ForkJoinPool pool, int threshold) {
+		if (threshold < 1)
+			throw new IllegalArgumentException("threshold must be positive: "
+					+ threshold);
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Mergesorts an {@link ImmutableList} of {@link Comparable} elements into
+	 * their natural order.
+	 *
+	 * @param list
+	 *            the list to sort
+	 * @return a sorted list with the elements of list
+	 */
+	public <T> ImmutableList<T> mergesort(ImmutableList<T> list) {
+		return mergesort(list, ListSort.NATURAL_ORDER);
+	}
+
+	/**
+	 * Mergesorts an {@link ImmutableList} into the order given by a
+	 * {@link Comparator}. Equal elements keep their relative order.
+	 *
+	 * @param list
+	 *            the list to sort
+	 * @param c
+	 *            the order to sort by
+	 * @return a sorted list with the elements of list
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> ImmutableList<T> mergesort(ImmutableList<T> list,
+			Comparator<? super T> c) {
+		int n = list.length();
+		if (n < threshold)
+			return ListSort.mergesort(list, c);
+		Object[] elements = toArray(list, n);
+		pool.invoke(new SortTask(elements, new Object[n], 0, n,
+				(Comparator<Object>) ListSort.specialize(c, list.head())));
+		return ImmutableList.prependAll(elements, n, ImmutableList.<T> nil());
+	}
+
+	/**
+	 * Creates a new set with the union of a {@link ListSet} and another set,
+	 * the same as {@link ListSet#union(Set)}.
+	 *
+	 * @param listSet
+	 *            the set to union
+	 * @param otherSet
+	 *            set to union with; another kind of {@link Set} is copied
+	 *            into a list first
+	 * @return the union of the two sets
+	 */
+	public <T> Set<T> union(ListSet<T> listSet, Set<T> otherSet) {
+		ImmutableList<T> otherList = ListSet.listOf(otherSet);
+		int n = listSet.size() + otherList.length();
+		if (n < threshold)
+			return listSet.union(otherSet);
+		Object[] elements = new Object[n];
+		int i = 0;
+		for (ImmutableList<T> l = listSet.getList(); !l.isEmpty(); l = l.tail())
+			elements[i++] = l.head();
+		for (ImmutableList<T> l = otherList; !l.isEmpty(); l = l.tail())
+			elements[i++] = l.head();
+		boolean[] keep = new boolean[n];
+		Partitions p = new Partitions(elements, partitionBits(n));
+		pool.invoke(new FirstOccurrenceTask(p, keep, 0, p.count()));
+		int k = 0;
+		for (i = 0; i < n; i++) {
+			if (keep[i])
+				elements[k++] = elements[i];
+		}
+		return new ListSet<T>(ImmutableList.prependAll(elements, k,
+				ImmutableList.<T> nil()));
+	}
+
+	/**
+	 * Creates a new set with the intersection of a {@link ListSet} and another
+	 * set, the same as {@link ListSet#intersection(Set)}.
+	 *
+	 * @param listSet
+	 *            the set to intersect
+	 * @param otherSet
+	 *            set to intersect with; another kind of {@link Set} is copied
+	 *            into a list first
+	 * @return the intersection of the two sets
+	 */
+	public <T> Set<T> intersection(ListSet<T> listSet, Set<T> otherSet) {
+		ImmutableList<T> otherList = ListSet.listOf(otherSet);
+		int m = listSet.size();
+		int n = otherList.length();
+		if (m + n < threshold)
+			return listSet.intersection(otherSet);
+		int bits = partitionBits(m + n);
+		Partitions mine = new Partitions(toArray(listSet.getList(), m), bits);
+		Partitions others = new Partitions(toArray(otherList, n), bits);
+		boolean[] keep = new boolean[n];
+		pool.invoke(new FirstCommonOccurrenceTask(mine, others, keep, 0,
+				others.count()));
+		Object[] kept = new Object[n];
+		int k = 0;
+		for (int i = 0; i < n; i++) {
+			if (keep[i])
+				kept[k++] = others.elements[i];
+		}
+		return new ListSet<T>(ImmutableList.prependAll(kept, k,
+				ImmutableList.<T> nil()));
+	}
+
+	/**
+	 * Chooses how many bits of the hash pick a partition: enough for several
+	 * partitions per worker, but no partition smaller than the threshold.
+	 */
+	private int partitionBits(int n) {
+		int bits = 0;
+		while ((1 << bits) < 4 * pool.getParallelism()
+				&& (n >> (bits + 1)) >= threshold && bits < 16)
+			bits++;
+		return bits;
+	}
+
+	/**
+	 * Copies the first n elements of a list into a new array.
+	 */
+	private static Object[] toArray(ImmutableList<?> list, int n) {
+		Object[] elements = new Object[n];
+		for (int i = 0; i < n; i++) {
+			elements[i] = list.head();
+			list = list.tail();
+		}
+		return elements;
+	}
+
+	/**
+	 * The {@link Partitions} class groups the indices of an array of elements
+	 * by the top bits of each element's hash, keeping the indices within each
+	 * partition in ascending order.
+	 */
+	private static final class Partitions {
+
+		/** instance variables */
+		final Object[] elements;
+		final int[] indices;
+		final int[] starts;
+
+		/** constructor */
+		Partitions(Object[] e, int bits) {
+			elements = e;
+			int count = 1 << bits;
+			int[] partitionOf = new int[e.length];
+			starts = new int[count + 1];
+			for (int i = 0; i < e.length; i++) {
+				partitionOf[i] = bits == 0 ? 0
+						: HashSet.hash(e[i]) >>> (32 - bits);
+				starts[partitionOf[i] + 1]++;
+			}
+			for (int p = 0; p < count; p++)
+				starts[p + 1] += starts[p];
+			int[] next = Arrays.copyOf(starts, count);
+			indices = new int[e.length];
+			for (int i = 0; i < e.length; i++)
+				indices[next[partitionOf[i]]++] = i;
+		}
+
+		/** the number of partitions */
+		int count() {
+			return starts.length - 1;
+		}
+	}
+
+	/**
+	 * The {@link SortTask} class sorts a[from, to) stably, splitting ranges
+	 * longer than the threshold in half and merging the sorted halves.
+	 */
+	private final class SortTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/** instance variables */
+		private final Object[] a;
+		private final Object[] buffer;
+		private final int from;
+		private final int to;
+		private final Comparator<Object> c;
+
+		/** constructor */
+		SortTask(Object[] a, Object[] buffer, int from, int to,
+				Comparator<Object> c) {
+			this.a = a;
+			this.buffer = buffer;
+			this.from = from;
+			this.to = to;
+			this.c = c;
+		}
+
+		protected void compute() {
+			if (to - from <= threshold) {
+				Arrays.sort(a, from, to, c);
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new SortTask(a, buffer, from, mid, c), new SortTask(a,
+					buffer, mid, to, c));
+			if (c.compare(a[mid], a[mid - 1]) >= 0)
+				return;
+			System.arraycopy(a, from, buffer, from, to - from);
+			int i = from;
+			int j = mid;
+			for (int k = from; k < to; k++) {
+				if (j >= to
+						|| (i < mid && c.compare(buffer[j], buffer[i]) >= 0))
+					a[k] = buffer[i++];
+				else
+					a[k] = buffer[j++];
+			}
+		}
+	}
+
+	/**
+	 * The {@link FirstOccurrenceTask} class marks, for each partition in
+	 * [from, to), the index of the first occurrence of every element.
+	 */
+	private static final class FirstOccurrenceTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/** instance variables */
+		private final Partitions p;
+		private final boolean[] keep;
+		private final int from;
+		private final int to;
+
+		/** constructor */
+		FirstOccurrenceTask(Partitions p, boolean[] keep, int from, int to) {
+			this.p = p;
+			this.keep = keep;
+			this.from = from;
+			this.to = to;
+		}
+
+		protected void compute() {
+			if (to - from > 1) {
+				int mid = (from + to) >>> 1;
+				invokeAll(new FirstOccurrenceTask(p, keep, from, mid),
+						new FirstOccurrenceTask(p, keep, mid, to));
+				return;
+			}
+			HashSet<Object> seen = new HashSet<Object>(p.starts[to]
+					- p.starts[from]);
+			for (int k = p.starts[from]; k < p.starts[to]; k++) {
+				int i = p.indices[k];
+				if (!seen.isMember(p.elements[i])) {
+					seen.add(p.elements[i]);
+					keep[i] = true;
+				}
+			}
+		}
+	}
+
+	/**
+	 * The {@link FirstCommonOccurrenceTask} class marks, for each partition in
+	 * [from, to), the index of the first occurrence in others of every element
+	 * that is also in mine.
+	 */
+	private static final class FirstCommonOccurrenceTask extends
+			RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/** instance variables */
+		private final Partitions mine;
+		private final Partitions others;
+		private final boolean[] keep;
+		private final int from;
+		private final int to;
+
+		/** constructor */
+		FirstCommonOccurrenceTask(Partitions mine, Partitions others,
+				boolean[] keep, int from, int to) {
+			this.mine = mine;
+			this.others = others;
+			this.keep = keep;
+			this.from = from;
+			this.to = to;
+		}
+
+		protected void compute() {
+			if (to - from > 1) {
+				int mid = (from + to) >>> 1;
+				invokeAll(new FirstCommonOccurrenceTask(mine, others, keep,
+						from, mid), new FirstCommonOccurrenceTask(mine, others,
+						keep, mid, to));
+				return;
+			}
+			HashSet<Object> members = new HashSet<Object>(mine.starts[to]
+					- mine.starts[from]);
+			for (int k = mine.starts[from]; k < mine.starts[to]; k++)
+				members.add(mine.elements[mine.indices[k]]);
+			for (int k = others.starts[from]; k < others.starts[to]; k++) {
+				int i = others.indices[k];
+				if (members.isMember(others.elements[i])) {
+					members.remove(others.elements[i]);
+					keep[i] = true;
+				}
+			}
+		}
+	}
+}
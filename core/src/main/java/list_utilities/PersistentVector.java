@@ -0,0 +1,343 @@
+/**********************************************
+ * PersistentVector.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+/**
+ * The {@link PersistentVector} class is an immutable sequence of elements of
+ * type T with fast random access. Like an {@link ImmutableList} it cannot be
+ * modified once instantiated, and every operation returns a new vector that
+ * shares most of its structure with the old one.
+ *
+ * The elements live in the leaves of a tree whose nodes have up to 32
+ * children, with all leaves at the same depth, so nth(int) touches one node
+ * per level and a vector of a billion elements is only six levels deep. Each
+ * inner node records the cumulative sizes of its children, which lets
+ * partially filled nodes appear anywhere in the tree; that is what makes
+ * append(PersistentVector) possible in O(log n) by joining the right edge of
+ * one tree to the left edge of the other.
+ *
+ * The last (up to) 32 elements are kept in a separate tail array outside the
+ * tree. push(T) copies only that array and moves it into the tree once
+ * it is full, so pushing is amortized constant time.
+ *
+ * Note that unlike {@link ImmutableList#push(Object)}, push adds the element
+ * at the end of the vector.
+ */
+
+public class PersistentVector<T> {
+
+	/** instance variables */
+	private static final int BITS = 5;
+	private static final int WIDTH = 1 << BITS;
+	private final Node root;
+	private final int treeSize;
+	private final Object[] tail;
+	public static final PersistentVector<Object> EMPTY =
+			new PersistentVector<Object>(null, 0, new Object[0]);
+
+	/** constructor */
+	private PersistentVector(Node r, int s, Object[] t) {
+		root = r;
+		treeSize = s;
+		tail = t;
+	}
+
+	/**
+	 * Returns the empty vector, {@link #EMPTY}, as a vector of any element
+	 * type. The empty vector holds no elements, so it is the same vector for
+	 * every type.
+	 *
+	 * @return the empty vector
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentVector<T> empty() {
+		return (PersistentVector<T>) (PersistentVector<?>) EMPTY;
+	}
+
+	/**
+	 * Creates a PersistentVector with one element.
+	 *
+	 * @param d
+	 *            element to be the only element of the vector
+	 * @return new PersistentVector holding the element
+	 */
+	public static <T> PersistentVector<T> list(T d) {
+		return PersistentVector.<T> empty().push(d);
+	}
+
+	/**
+	 * Creates a PersistentVector with the elements of an {@link ImmutableList}
+	 * in the same order.
+	 *
+	 * @param a
+	 *            the list whose elements are copied
+	 * @return new PersistentVector holding the elements
+	 */
+	public static <T> PersistentVector<T> fromList(ImmutableList<T> a) {
+		PersistentVector<T> result = empty();
+		for (; !a.isEmpty(); a = a.tail())
+			result = result.push(a.head());
+		return result;
+	}
+
+	/**
+	 * Adds an element at the end of a new vector that otherwise holds the
+	 * elements of this vector.
+	 *
+	 * @param d
+	 *            an element to be pushed
+	 * @return new PersistentVector with the element added at the end
+	 */
+	public PersistentVector<T> push(T d) {
+		if (tail.length < WIDTH) {
+			Object[] newTail = new Object[tail.length + 1];
+			System.arraycopy(tail, 0, newTail, 0, tail.length);
+			newTail[tail.length] = d;
+			return new PersistentVector<T>(root, treeSize, newTail);
+		}
+		return new PersistentVector<T>(join(root, new Node(tail)), treeSize
+				+ tail.length, new Object[] { d });
+	}
+
+	/**
+	 * Checks if the vector is empty.
+	 *
+	 * @return whether or not this vector has no elements
+	 */
+	public boolean isEmpty() {
+		return length() == 0;
+	}
+
+	/**
+	 * Checks the length of the PersistentVector.
+	 *
+	 * @return int the number of elements in the vector
+	 */
+	public int length() {
+		return treeSize + tail.length;
+	}
+
+	/**
+	 * Accesses the nth element of the PersistentVector (indexed from zero).
+	 *
+	 * @param n
+	 *            the index of the element
+	 * @return the nth element, or null if n is negative or not less than the
+	 *         length
+	 */
+	@SuppressWarnings("unchecked")
+	public T nth(int n) {
+		if (n < 0 || n >= length())
+			return null;
+		if (n >= treeSize)
+			return (T) tail[n - treeSize];
+		Node node = root;
+		while (node.height > 0) {
+			int shift = BITS * node.height;
+			int i = shift < 31 ? n >>> shift : 0;
+			while (node.sizes[i] <= n)
+				i++;
+			if (i > 0)
+				n -= node.sizes[i - 1];
+			node = (Node) node.array[i];
+		}
+		return (T) node.array[n];
+	}
+
+	/**
+	 * Returns a new PersistentVector with all elements of this followed by all
+	 * elements of that. Only the nodes along the seam between the two trees
+	 * are copied.
+	 *
+	 * @param that
+	 *            the PersistentVector to be appended onto this vector
+	 * @return the concatenation of the two vectors
+	 */
+	public PersistentVector<T> append(PersistentVector<T> that) {
+		if (that.isEmpty())
+			return this;
+		if (isEmpty())
+			return that;
+		Node left = tail.length == 0 ? root : join(root, new Node(tail));
+		return new PersistentVector<T>(join(left, that.root), length()
+				+ that.treeSize, that.tail);
+	}
+
+	/**
+	 * Copies the elements of the vector into a new array, in order.
+	 *
+	 * @return array of the elements of the vector
+	 */
+	public Object[] toArray() {
+		Object[] result = new Object[length()];
+		if (root != null)
+			copy(root, result, 0);
+		System.arraycopy(tail, 0, result, treeSize, tail.length);
+		return result;
+	}
+
+	/**
+	 * Creates an {@link ImmutableList} with the elements of the vector in the
+	 * same order.
+	 *
+	 * @return list holding the elements of the vector
+	 */
+	public ImmutableList<T> toList() {
+		return ImmutableList.prependAll(toArray(), length(), ImmutableList
+				.<T> nil());
+	}
+
+	/**
+	 * Creates a String version of the PersistentVector.
+	 *
+	 * @return String representing the PersistentVector
+	 */
+	public String toString() {
+		StringBuilder sb = new StringBuilder("(");
+		Object[] elements = toArray();
+		for (int i = 0; i < elements.length; i++) {
+			if (i > 0)
+				sb.append(' ');
+			sb.append(elements[i]);
+		}
+		return sb.append(')').toString();
+	}
+
+	/**
+	 * Parses a String of whitespace-separated integers into a
+	 * PersistentVector.
+	 *
+	 * @param s
+	 *            the String to be parsed
+	 * @return result the PersistentVector coming from the parsed String
+	 * @see IntReader#parseInts(CharSequence)
+	 */
+	public static PersistentVector<Integer> parseIntList(String s) {
+		int[] ints = IntReader.parseInts(s);
+		PersistentVector<Integer> result = empty();
+		for (int i = 0; i < ints.length; i++)
+			result = result.push(ints[i]);
+		return result;
+	}
+
+	/**
+	 * Copies the elements below a node into an array, starting at offset.
+	 */
+	private static int copy(Node node, Object[] result, int offset) {
+		if (node.height == 0) {
+			System.arraycopy(node.array, 0, result, offset, node.array.length);
+			return offset + node.array.length;
+		}
+		for (int i = 0; i < node.array.length; i++)
+			offset = copy((Node) node.array[i], result, offset);
+		return offset;
+	}
+
+	/**
+	 * Joins two trees into one holding the elements of a followed by those of
+	 * b. Either may be null. The result is as tall as the taller of the two,
+	 * or one level taller if the nodes along the seam overflowed.
+	 */
+	private static Node join(Node a, Node b) {
+		if (a == null)
+			return b;
+		if (b == null)
+			return a;
+		if (a.height == b.height) {
+			if (a.array.length + b.array.length <= WIDTH)
+				return new Node(concat(a.array, 0, a.array.length, b.array, 0,
+						b.array.length), a.height);
+			return new Node(new Object[] { a, b }, a.height + 1);
+		}
+		if (a.height > b.height) {
+			int last = a.array.length - 1;
+			Node seam = join((Node) a.array[last], b);
+			if (seam.height < a.height) {
+				Object[] children = a.array.clone();
+				children[last] = seam;
+				return new Node(children, a.height);
+			}
+			return fit(concat(a.array, 0, last, seam.array, 0,
+					seam.array.length), a.height, true);
+		}
+		Node seam = join(a, (Node) b.array[0]);
+		if (seam.height < b.height) {
+			Object[] children = b.array.clone();
+			children[0] = seam;
+			return new Node(children, b.height);
+		}
+		return fit(concat(seam.array, 0, seam.array.length, b.array, 1,
+				b.array.length), b.height, false);
+	}
+
+	/**
+	 * Makes a node of the given height from up to 2 * WIDTH children,
+	 * splitting it into two under a new parent if there are too many. The
+	 * split keeps the left node full when fillLeft is true and the right node
+	 * full otherwise.
+	 */
+	private static Node fit(Object[] children, int height, boolean fillLeft) {
+		if (children.length <= WIDTH)
+			return new Node(children, height);
+		int split = fillLeft ? WIDTH : children.length - WIDTH;
+		Node left = new Node(concat(children, 0, split, children, 0, 0), height);
+		Node right = new Node(concat(children, split, children.length,
+				children, 0, 0), height);
+		return new Node(new Object[] { left, right }, height + 1);
+	}
+
+	/**
+	 * Concatenates a[aFrom, aTo) and b[bFrom, bTo) into a new array.
+	 */
+	private static Object[] concat(Object[] a, int aFrom, int aTo, Object[] b,
+			int bFrom, int bTo) {
+		Object[] result = new Object[(aTo - aFrom) + (bTo - bFrom)];
+		System.arraycopy(a, aFrom, result, 0, aTo - aFrom);
+		System.arraycopy(b, bFrom, result, aTo - aFrom, bTo - bFrom);
+		return result;
+	}
+
+	/**
+	 * The {@link Node} class is one node of the tree. A leaf (height zero)
+	 * holds elements; an inner node holds child nodes one level lower along
+	 * with the cumulative number of elements below each child.
+	 */
+	private static final class Node {
+
+		/** instance variables */
+		final Object[] array;
+		final int[] sizes;
+		final int height;
+
+		/** constructor for a leaf */
+		Node(Object[] elements) {
+			array = elements;
+			sizes = null;
+			height = 0;
+		}
+
+		/** constructor for a node of the given height */
+		Node(Object[] children, int h) {
+			array = children;
+			height = h;
+			if (h == 0) {
+				sizes = null;
+				return;
+			}
+			sizes = new int[children.length];
+			int total = 0;
+			for (int i = 0; i < children.length; i++) {
+				total += ((Node) children[i]).size();
+				sizes[i] = total;
+			}
+		}
+
+		/** the number of elements below this node */
+		int size() {
+			return height == 0 ? array.length : sizes[sizes.length - 1];
+		}
+	}
+}
@@ -0,0 +1,888 @@
+/**********************************************
+ * RoaringSet.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.Arrays;
+
+/**
+ * The {@link RoaringSet} class is a compressed bitmap {@link Set} of ints, for
+ * sets that are dense or made of long ranges. A {@link ListSet} spends a cons
+ * cell and a boxed Integer on every element; a RoaringSet spends at most two
+ * bytes per element, and much less on dense ranges.
+ *
+ * The ints are split by their high 16 bits into chunks of 65536, and each
+ * chunk that holds any element is kept in the smallest of three containers:
+ *
+ * <pre>
+ * array   the sorted low 16 bits of the elements   up to 4096 elements
+ * bitmap  one bit for each of the 65536 values     more than 4096 elements
+ * run     the start and length of each range       few, long ranges
+ * </pre>
+ *
+ * union and intersection walk the chunks of both sets in order and combine
+ * matching containers: bitmaps 64 bits at a time with bitwise or and and,
+ * arrays by merging. Every container knows its own cardinality, so size()
+ * only adds up one number per chunk.
+ *
+ * Adding and removing elements keeps arrays and bitmaps in the right form;
+ * call runOptimize() after building a set to turn containers into runs where
+ * that is smaller. Sets built from a list are run-optimized already.
+ */
+
+public class RoaringSet implements Set<Integer> {
+
+	/** instance variables */
+	private static final int MAX_ARRAY = 4096;
+	private static final int WORDS = 1024;
+	private char[] keys;
+	private Container[] containers;
+	private int count;
+
+	/** constructor */
+	public RoaringSet() {
+		keys = new char[4];
+		containers = new Container[4];
+		count = 0;
+	}
+
+	/**
+	 * Creates a RoaringSet holding every element of an {@link ImmutableList}
+	 * of Integers.
+	 *
+	 * @param a
+	 *            the list whose elements are added
+	 */
+	public RoaringSet(ImmutableList<Integer> a) {
+		int[] values = new int[a.length()];
+		int n = 0;
+		for (; !a.isEmpty(); a = a.tail())
+			values[n++] = a.head();
+		load(values, n);
+	}
+
+	/**
+	 * Creates a RoaringSet holding every element of an
+	 * {@link IntImmutableList}.
+	 *
+	 * @param a
+	 *            the list whose elements are added
+	 */
+	public RoaringSet(IntImmutableList a) {
+		int[] values = a.toArray();
+		load(values, values.length);
+	}
+
+	/**
+	 * Creates a RoaringSet holding the elements of a {@link ListSet}.
+	 *
+	 * @param set
+	 *            the set whose elements are added
+	 */
+	public RoaringSet(ListSet<Integer> set) {
+		this(set.getList());
+	}
+
+	/**
+	 * Calculates the size of the set.
+	 *
+	 * @return int representing the number of elements in the set
+	 */
+	public int size() {
+		int size = 0;
+		for (int i = 0; i < count; i++)
+			size += containers[i].cardinality();
+		return size;
+	}
+
+	/**
+	 * Checks if the set is empty or not.
+	 *
+	 * @return true if the set is empty, false if the set is not empty
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	/**
+	 * Checks whether a specified Object is a member of the set or not. Only
+	 * Integers can be members.
+	 *
+	 * @param object
+	 *            the Object to check whether or not a member of the set
+	 * @return true if the Object is a member, false if the Object is not a
+	 *         member
+	 */
+	public boolean isMember(Object object) {
+		return object instanceof Integer
+				&& isMember(((Integer) object).intValue());
+	}
+
+	/**
+	 * Checks whether a specified int is a member of the set or not.
+	 *
+	 * @param d
+	 *            the int to check whether or not a member of the set
+	 * @return true if the int is a member, false if the int is not a member
+	 */
+	public boolean isMember(int d) {
+		int i = Arrays.binarySearch(keys, 0, count, key(d));
+		return i >= 0 && containers[i].contains((char) d);
+	}
+
+	/**
+	 * Creates a new set with the union of this set and another set. Does not
+	 * modify the current set.
+	 *
+	 * @param otherSet
+	 *            set to union with
+	 * @return unionSet the union of this set and the other set
+	 */
+	public Set<Integer> union(Set<Integer> otherSet) {
+		if (!(otherSet instanceof RoaringSet)) {
+			RoaringSet unionSet = (RoaringSet) copy();
+			Iterator<Integer> it = otherSet.iterator();
+			while (it.hasNext())
+				unionSet.add(it.next().intValue());
+			return unionSet;
+		}
+		RoaringSet other = (RoaringSet) otherSet;
+		RoaringSet unionSet = new RoaringSet(count + other.count);
+		int i = 0;
+		int j = 0;
+		while (i < count || j < other.count) {
+			if (j == other.count || (i < count && keys[i] < other.keys[j])) {
+				unionSet.append(keys[i], containers[i].copy());
+				i++;
+			} else if (i == count || other.keys[j] < keys[i]) {
+				unionSet.append(other.keys[j], other.containers[j].copy());
+				j++;
+			} else {
+				unionSet.append(keys[i], combined(containers[i],
+						containers[i].or(other.containers[j]),
+						other.containers[j]));
+				i++;
+				j++;
+			}
+		}
+		return unionSet;
+	}
+
+	/**
+	 * Creates a new set with the intersection of this set and another set. Does
+	 * not modify the current set.
+	 *
+	 * @param otherSet
+	 *            set to intersect with
+	 * @return intersectionSet intersection of this set and the other set
+	 */
+	public Set<Integer> intersection(Set<Integer> otherSet) {
+		if (!(otherSet instanceof RoaringSet)) {
+			RoaringSet intersectionSet = new RoaringSet();
+			Iterator<Integer> it = otherSet.iterator();
+			while (it.hasNext()) {
+				int d = it.next();
+				if (isMember(d))
+					intersectionSet.add(d);
+			}
+			return intersectionSet;
+		}
+		RoaringSet other = (RoaringSet) otherSet;
+		RoaringSet intersectionSet = new RoaringSet(Math.min(count,
+				other.count));
+		int i = 0;
+		int j = 0;
+		while (i < count && j < other.count) {
+			if (keys[i] < other.keys[j])
+				i++;
+			else if (other.keys[j] < keys[i])
+				j++;
+			else {
+				Container c = combined(containers[i],
+						containers[i].and(other.containers[j]),
+						other.containers[j]);
+				if (c.cardinality() > 0)
+					intersectionSet.append(keys[i], c);
+				i++;
+				j++;
+			}
+		}
+		return intersectionSet;
+	}
+
+	/**
+	 * Creates a copy of the current set. Does not modify the current set.
+	 *
+	 * @return setCopy the copy of this set
+	 */
+	public Set<Integer> copy() {
+		RoaringSet setCopy = new RoaringSet(count);
+		for (int i = 0; i < count; i++)
+			setCopy.append(keys[i], containers[i].copy());
+		return setCopy;
+	}
+
+	/**
+	 * Adds an Integer to this set.
+	 *
+	 * @param object
+	 *            object to add
+	 */
+	public void add(Integer object) {
+		add(object.intValue());
+	}
+
+	/**
+	 * Adds an int to this set if it is not already a member.
+	 *
+	 * @param d
+	 *            int to add
+	 */
+	public void add(int d) {
+		char key = key(d);
+		int i = Arrays.binarySearch(keys, 0, count, key);
+		if (i >= 0) {
+			containers[i] = containers[i].add((char) d);
+			return;
+		}
+		i = -i - 1;
+		if (count == keys.length) {
+			keys = Arrays.copyOf(keys, 2 * count);
+			containers = Arrays.copyOf(containers, 2 * count);
+		}
+		System.arraycopy(keys, i, keys, i + 1, count - i);
+		System.arraycopy(containers, i, containers, i + 1, count - i);
+		keys[i] = key;
+		containers[i] = new ArrayContainer(new char[] { (char) d }, 1);
+		count++;
+	}
+
+	/**
+	 * Removes an Object from this set. Does nothing if the Object is not a
+	 * member.
+	 *
+	 * @param object
+	 *            object to delete
+	 */
+	public void remove(Object object) {
+		if (object instanceof Integer)
+			remove(((Integer) object).intValue());
+	}
+
+	/**
+	 * Removes an int from this set. Does nothing if the int is not a member.
+	 *
+	 * @param d
+	 *            int to delete
+	 */
+	public void remove(int d) {
+		int i = Arrays.binarySearch(keys, 0, count, key(d));
+		if (i < 0)
+			return;
+		containers[i] = containers[i].remove((char) d);
+		if (containers[i].cardinality() > 0)
+			return;
+		System.arraycopy(keys, i + 1, keys, i, count - i - 1);
+		System.arraycopy(containers, i + 1, containers, i, count - i - 1);
+		containers[--count] = null;
+	}
+
+	/**
+	 * Turns every container into the smallest of the three forms, which is a
+	 * run container wherever the chunk is made of few long ranges.
+	 */
+	public void runOptimize() {
+		for (int i = 0; i < count; i++)
+			containers[i] = containers[i].optimize();
+	}
+
+	/**
+	 * Returns the {@link Iterator} that will iterate through the elements of
+	 * this set in ascending order. Prefer {@link #toIntList()}, which does not
+	 * box.
+	 *
+	 * @return {@link Iterator} for this set
+	 */
+	public Iterator<Integer> iterator() {
+		return new Iterator<Integer>(toList());
+	}
+
+	/**
+	 * Creates an empty copy of this set. Does not modify the current set.
+	 *
+	 * @return an empty copy of this set
+	 */
+	public Set<Integer> empty() {
+		return new RoaringSet();
+	}
+
+	/**
+	 * Copies the elements of this set into a new array, in ascending order.
+	 *
+	 * @return array of the elements of the set
+	 */
+	public int[] toArray() {
+		int[] result = new int[size()];
+		int n = 0;
+		for (int i = 0; i < count; i++)
+			n = containers[i].fill(result, n, base(keys[i]));
+		return result;
+	}
+
+	/**
+	 * Creates an {@link IntImmutableList} of the elements of this set, in
+	 * ascending order.
+	 *
+	 * @return the elements of this set
+	 */
+	public IntImmutableList toIntList() {
+		int[] values = toArray();
+		return IntImmutableList.fromArray(values, values.length);
+	}
+
+	/**
+	 * Creates an {@link ImmutableList} of the elements of this set, boxed, in
+	 * ascending order.
+	 *
+	 * @return list the elements of this set
+	 */
+	public ImmutableList<Integer> toList() {
+		int[] values = toArray();
+		return IntReader.toList(values, values.length);
+	}
+
+	/**
+	 * Creates a {@link SortedListSet} holding the elements of this set.
+	 *
+	 * @return the elements of this set as a {@link ListSet}
+	 */
+	public ListSet<Integer> toListSet() {
+		return SortedListSet.fromSorted(toList(), ListSort.NATURAL_ORDER);
+	}
+
+	/**
+	 * Creates a String version of this set.
+	 *
+	 * @return String representing this set
+	 */
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		int[] values = toArray();
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0)
+				sb.append(' ');
+			sb.append(values[i]);
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * Creates a RoaringSet holding the first n ints of an array, which is
+	 * sorted in place and not kept.
+	 */
+	static RoaringSet fromArray(int[] values, int n) {
+		RoaringSet set = new RoaringSet();
+		set.load(values, n);
+		return set;
+	}
+
+	/** constructor with room for the given number of chunks */
+	private RoaringSet(int capacity) {
+		keys = new char[Math.max(4, capacity)];
+		containers = new Container[Math.max(4, capacity)];
+		count = 0;
+	}
+
+	/**
+	 * Fills this empty set with the first n ints of an array, which is sorted
+	 * in place, one chunk at a time.
+	 */
+	private void load(int[] values, int n) {
+		Arrays.sort(values, 0, n);
+		keys = new char[4];
+		containers = new Container[4];
+		int from = 0;
+		while (from < n) {
+			char key = key(values[from]);
+			char[] low = new char[Math.min(n - from, 1 << 16)];
+			int m = 0;
+			int to = from;
+			for (; to < n && key(values[to]) == key; to++) {
+				if (m == 0 || low[m - 1] != (char) values[to])
+					low[m++] = (char) values[to];
+			}
+			Container c = new ArrayContainer(low, m);
+			if (m > MAX_ARRAY)
+				c = c.toBitmap();
+			if (count == keys.length) {
+				keys = Arrays.copyOf(keys, 2 * count);
+				containers = Arrays.copyOf(containers, 2 * count);
+			}
+			append(key, c.optimize());
+			from = to;
+		}
+	}
+
+	/**
+	 * Adds a chunk after all the chunks of this set.
+	 */
+	private void append(char key, Container c) {
+		keys[count] = key;
+		containers[count] = c;
+		count++;
+	}
+
+	/**
+	 * Run-optimizes the result of combining two containers if either was a
+	 * run container, since ranges usually combine into ranges.
+	 */
+	private static Container combined(Container a, Container result,
+			Container b) {
+		if (a instanceof RunContainer || b instanceof RunContainer)
+			return result.optimize();
+		return result;
+	}
+
+	/**
+	 * Calculates the chunk an int belongs to. The sign bit is flipped so that
+	 * the chunks of negative ints come first.
+	 */
+	private static char key(int d) {
+		return (char) ((d ^ Integer.MIN_VALUE) >>> 16);
+	}
+
+	/**
+	 * Calculates the smallest int of a chunk.
+	 */
+	private static int base(char key) {
+		return (key << 16) ^ Integer.MIN_VALUE;
+	}
+
+	/**
+	 * Sets the bits from through to, inclusive, of a bitmap.
+	 */
+	private static void setRange(long[] words, int from, int to) {
+		int first = from >>> 6;
+		int last = to >>> 6;
+		if (first == last) {
+			words[first] |= (-1L << from) & (-1L >>> (63 - (to & 63)));
+			return;
+		}
+		words[first] |= -1L << from;
+		for (int i = first + 1; i < last; i++)
+			words[i] = -1L;
+		words[last] |= -1L >>> (63 - (to & 63));
+	}
+
+	/**
+	 * The {@link Container} class holds the low 16 bits of the elements of
+	 * one chunk. Operations that change a container may return a container of
+	 * another form in its place.
+	 */
+	private abstract static class Container {
+
+		/** the number of elements */
+		abstract int cardinality();
+
+		/** whether the container holds x */
+		abstract boolean contains(char x);
+
+		/** adds x, returning the container that now holds the elements */
+		abstract Container add(char x);
+
+		/** removes x, returning the container that now holds the elements */
+		abstract Container remove(char x);
+
+		/** a new container holding the elements of this or of o */
+		abstract Container or(Container o);
+
+		/** a new container holding the elements of both this and o */
+		abstract Container and(Container o);
+
+		/** a copy of the container */
+		abstract Container copy();
+
+		/** the number of runs of consecutive values */
+		abstract int runs();
+
+		/** writes base | x for every element x in ascending order */
+		abstract int fill(int[] out, int n, int base);
+
+		/** writes the elements into out in ascending order */
+		abstract void fill(char[] out);
+
+		/** a bitmap of the elements, which may be this container */
+		abstract BitmapContainer toBitmap();
+
+		/**
+		 * Returns the smallest of the three forms of this container, which
+		 * may be this container.
+		 */
+		Container optimize() {
+			int card = cardinality();
+			int runBytes = 4 * runs();
+			if (runBytes < Math.min(2 * card, 8 * WORDS))
+				return this instanceof RunContainer ? this : toRuns();
+			if (card <= MAX_ARRAY)
+				return this instanceof ArrayContainer ? this : toArray();
+			return toBitmap();
+		}
+
+		/** an array container of the elements */
+		ArrayContainer toArray() {
+			char[] values = new char[cardinality()];
+			fill(values);
+			return new ArrayContainer(values, values.length);
+		}
+
+		/** a run container of the elements */
+		RunContainer toRuns() {
+			int n = runs();
+			char[] values = new char[cardinality()];
+			fill(values);
+			char[] starts = new char[n];
+			char[] lengths = new char[n];
+			int r = -1;
+			for (int i = 0; i < values.length; i++) {
+				if (r >= 0 && values[i] == starts[r] + lengths[r] + 1)
+					lengths[r]++;
+				else
+					starts[++r] = values[i];
+			}
+			return new RunContainer(starts, lengths, n);
+		}
+
+		/**
+		 * An array container if the elements fit in one, a bitmap container
+		 * otherwise.
+		 */
+		Container expand() {
+			return cardinality() <= MAX_ARRAY ? toArray() : toBitmap();
+		}
+	}
+
+	/**
+	 * The {@link ArrayContainer} class keeps up to 4096 elements as a sorted
+	 * array of chars.
+	 */
+	private static final class ArrayContainer extends Container {
+
+		/** instance variables */
+		private char[] values;
+		private int card;
+
+		/** constructor */
+		ArrayContainer(char[] v, int c) {
+			values = v;
+			card = c;
+		}
+
+		int cardinality() {
+			return card;
+		}
+
+		boolean contains(char x) {
+			return Arrays.binarySearch(values, 0, card, x) >= 0;
+		}
+
+		Container add(char x) {
+			int i = Arrays.binarySearch(values, 0, card, x);
+			if (i >= 0)
+				return this;
+			if (card == MAX_ARRAY)
+				return toBitmap().add(x);
+			i = -i - 1;
+			if (card == values.length)
+				values = Arrays.copyOf(values,
+						Math.min(MAX_ARRAY, Math.max(4, 2 * card)));
+			System.arraycopy(values, i, values, i + 1, card - i);
+			values[i] = x;
+			card++;
+			return this;
+		}
+
+		Container remove(char x) {
+			int i = Arrays.binarySearch(values, 0, card, x);
+			if (i < 0)
+				return this;
+			System.arraycopy(values, i + 1, values, i, card - i - 1);
+			card--;
+			return this;
+		}
+
+		Container or(Container o) {
+			if (!(o instanceof ArrayContainer))
+				return o.or(this);
+			ArrayContainer a = (ArrayContainer) o;
+			if (card + a.card > MAX_ARRAY)
+				return toBitmap().or(a);
+			char[] merged = new char[card + a.card];
+			int i = 0;
+			int j = 0;
+			int n = 0;
+			while (i < card && j < a.card) {
+				if (values[i] < a.values[j])
+					merged[n++] = values[i++];
+				else if (a.values[j] < values[i])
+					merged[n++] = a.values[j++];
+				else {
+					merged[n++] = values[i++];
+					j++;
+				}
+			}
+			while (i < card)
+				merged[n++] = values[i++];
+			while (j < a.card)
+				merged[n++] = a.values[j++];
+			return new ArrayContainer(merged, n);
+		}
+
+		Container and(Container o) {
+			char[] common = new char[card];
+			int n = 0;
+			for (int i = 0; i < card; i++) {
+				if (o.contains(values[i]))
+					common[n++] = values[i];
+			}
+			return new ArrayContainer(common, n);
+		}
+
+		Container copy() {
+			return new ArrayContainer(Arrays.copyOf(values, card), card);
+		}
+
+		int runs() {
+			int n = card == 0 ? 0 : 1;
+			for (int i = 1; i < card; i++) {
+				if (values[i] != values[i - 1] + 1)
+					n++;
+			}
+			return n;
+		}
+
+		int fill(int[] out, int n, int base) {
+			for (int i = 0; i < card; i++)
+				out[n++] = base | values[i];
+			return n;
+		}
+
+		void fill(char[] out) {
+			System.arraycopy(values, 0, out, 0, card);
+		}
+
+		BitmapContainer toBitmap() {
+			long[] words = new long[WORDS];
+			for (int i = 0; i < card; i++)
+				words[values[i] >>> 6] |= 1L << values[i];
+			return new BitmapContainer(words, card);
+		}
+
+		ArrayContainer toArray() {
+			return this;
+		}
+	}
+
+	/**
+	 * The {@link BitmapContainer} class keeps one bit for each of the 65536
+	 * values of a chunk, in 1024 longs.
+	 */
+	private static final class BitmapContainer extends Container {
+
+		/** instance variables */
+		private final long[] words;
+		private int card;
+
+		/** constructor */
+		BitmapContainer(long[] w, int c) {
+			words = w;
+			card = c;
+		}
+
+		int cardinality() {
+			return card;
+		}
+
+		boolean contains(char x) {
+			return (words[x >>> 6] & (1L << x)) != 0;
+		}
+
+		Container add(char x) {
+			long bit = 1L << x;
+			if ((words[x >>> 6] & bit) == 0) {
+				words[x >>> 6] |= bit;
+				card++;
+			}
+			return this;
+		}
+
+		Container remove(char x) {
+			long bit = 1L << x;
+			if ((words[x >>> 6] & bit) == 0)
+				return this;
+			words[x >>> 6] &= ~bit;
+			card--;
+			return card <= MAX_ARRAY ? toArray() : this;
+		}
+
+		Container or(Container o) {
+			long[] result = words.clone();
+			if (o instanceof BitmapContainer) {
+				long[] other = ((BitmapContainer) o).words;
+				for (int i = 0; i < WORDS; i++)
+					result[i] |= other[i];
+			} else if (o instanceof ArrayContainer) {
+				ArrayContainer a = (ArrayContainer) o;
+				for (int i = 0; i < a.card; i++)
+					result[a.values[i] >>> 6] |= 1L << a.values[i];
+			} else {
+				RunContainer r = (RunContainer) o;
+				for (int i = 0; i < r.nRuns; i++)
+					setRange(result, r.starts[i], r.starts[i] + r.lengths[i]);
+			}
+			return new BitmapContainer(result, bitCount(result));
+		}
+
+		Container and(Container o) {
+			if (!(o instanceof BitmapContainer))
+				return o.and(this);
+			long[] other = ((BitmapContainer) o).words;
+			long[] result = new long[WORDS];
+			for (int i = 0; i < WORDS; i++)
+				result[i] = words[i] & other[i];
+			BitmapContainer b = new BitmapContainer(result, bitCount(result));
+			return b.card <= MAX_ARRAY ? b.toArray() : b;
+		}
+
+		Container copy() {
+			return new BitmapContainer(words.clone(), card);
+		}
+
+		int runs() {
+			int n = 0;
+			long previous = 0;
+			for (int i = 0; i < WORDS; i++) {
+				long w = words[i];
+				n += Long.bitCount(w & ~((w << 1) | (previous >>> 63)));
+				previous = w;
+			}
+			return n;
+		}
+
+		int fill(int[] out, int n, int base) {
+			for (int i = 0; i < WORDS; i++) {
+				for (long w = words[i]; w != 0; w &= w - 1)
+					out[n++] = base | (i << 6 | Long.numberOfTrailingZeros(w));
+			}
+			return n;
+		}
+
+		void fill(char[] out) {
+			int n = 0;
+			for (int i = 0; i < WORDS; i++) {
+				for (long w = words[i]; w != 0; w &= w - 1)
+					out[n++] = (char) (i << 6 | Long.numberOfTrailingZeros(w));
+			}
+		}
+
+		BitmapContainer toBitmap() {
+			return this;
+		}
+
+		/** the number of bits set in a bitmap */
+		private static int bitCount(long[] words) {
+			int n = 0;
+			for (int i = 0; i < words.length; i++)
+				n += Long.bitCount(words[i]);
+			return n;
+		}
+	}
+
+	/**
+	 * The {@link RunContainer} class keeps the elements of a chunk as sorted
+	 * ranges, each given by its first value and its length minus one.
+	 */
+	private static final class RunContainer extends Container {
+
+		/** instance variables */
+		private final char[] starts;
+		private final char[] lengths;
+		private final int nRuns;
+		private final int card;
+
+		/** constructor */
+		RunContainer(char[] s, char[] l, int n) {
+			starts = s;
+			lengths = l;
+			nRuns = n;
+			int c = 0;
+			for (int i = 0; i < n; i++)
+				c += lengths[i] + 1;
+			card = c;
+		}
+
+		int cardinality() {
+			return card;
+		}
+
+		boolean contains(char x) {
+			int i = Arrays.binarySearch(starts, 0, nRuns, x);
+			if (i >= 0)
+				return true;
+			i = -i - 2;
+			return i >= 0 && x - starts[i] <= lengths[i];
+		}
+
+		Container add(char x) {
+			return contains(x) ? this : expand().add(x);
+		}
+
+		Container remove(char x) {
+			return contains(x) ? expand().remove(x) : this;
+		}
+
+		Container or(Container o) {
+			return toBitmap().or(o);
+		}
+
+		Container and(Container o) {
+			if (o instanceof ArrayContainer)
+				return o.and(this);
+			return toBitmap().and(o);
+		}
+
+		Container copy() {
+			return this;
+		}
+
+		int runs() {
+			return nRuns;
+		}
+
+		int fill(int[] out, int n, int base) {
+			for (int i = 0; i < nRuns; i++) {
+				int last = starts[i] + lengths[i];
+				for (int x = starts[i]; x <= last; x++)
+					out[n++] = base | x;
+			}
+			return n;
+		}
+
+		void fill(char[] out) {
+			int n = 0;
+			for (int i = 0; i < nRuns; i++) {
+				int last = starts[i] + lengths[i];
+				for (int x = starts[i]; x <= last; x++)
+					out[n++] = (char) x;
+			}
+		}
+
+		BitmapContainer toBitmap() {
+			long[] words = new long[WORDS];
+			for (int i = 0; i < nRuns; i++)
+				setRange(words, starts[i], starts[i] + lengths[i]);
+			return new BitmapContainer(words, card);
+		}
+	}
+}
@@ -5,7 +5,17 @@
 
 package list_utilities;
 
-public interface Set {
+/**
+ * The {@link Set} interface is implemented by every set of elements of type T
+ * in this package. A Set can be walked with its {@link Iterator}, or with a
+ * for-each loop, so union and intersection accept any other Set of the same
+ * element type: implementations use a faster path for another set of their
+ * own kind and iterate over the elements of any other.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+public interface Set<T> extends Iterable<T> {
 
 	/**
 	 * Calculates the size of the set.
@@ -39,7 +49,7 @@ public interface Set {
 	 *            set to union with
 	 * @return union of this set and the other set
 	 */
-	public Set union(Set otherSet);
+	public Set<T> union(Set<T> otherSet);
 
 	/**
 	 * Creates a new set with the intersection of this set and another set. Does
@@ -49,14 +59,14 @@ public interface Set {
 	 *            set to intersect with
 	 * @return intersection of this set and the other set
 	 */
-	public Set intersection(Set otherSet);
+	public Set<T> intersection(Set<T> otherSet);
 
 	/**
 	 * Creates a copy of the current set. Does not modify the current set.
 	 * 
 	 * @return the copy of this set
 	 */
-	public Set copy();
+	public Set<T> copy();
 
 	/**
 	 * Adds an object to this set.
@@ -64,7 +74,7 @@ public interface Set {
 	 * @param object
 	 *            object to add
 	 */
-	public void add(Object object);
+	public void add(T object);
 
 	/**
 	 * Removes an object from this set.
@@ -80,12 +90,12 @@ public interface Set {
 	 * 
 	 * @return {@link Iterator} for this set
 	 */
-	public Iterator iterator();
+	public Iterator<T> iterator();
 
 	/**
 	 * Creates an empty copy of this set. Does not modify the current set.
 	 * 
 	 * @return an empty copy of this set
 	 */
-	public Set empty();
+	public Set<T> empty();
 }
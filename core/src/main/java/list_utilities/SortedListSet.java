@@ -0,0 +1,383 @@
+/**********************************************
+ * SortedListSet.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+
+/**
+ * The {@link SortedListSet} class is a {@link ListSet} whose underlying
+ * {@link ImmutableList} is always sorted and free of duplicates. Keeping that
+ * invariant lets membership, adding and removing stop as soon as they pass
+ * the place an element would be, and lets union, intersection and difference
+ * with another SortedListSet run as a single merge walk over both lists.
+ *
+ * The merge walks gather the result elements in one scratch array and push
+ * them onto the result list, so apart from that array they allocate only the
+ * cells of the result. Where the rest of the result is a suffix of one of the
+ * inputs, that suffix is shared. Another kind of {@link Set} is sorted into a
+ * list first.
+ *
+ * A set in the natural order of Integers, Longs or Strings compares its
+ * elements with the matching order from {@link ListSort}, whose compare()
+ * the JIT can inline.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+
+public class SortedListSet<T> extends ListSet<T> {
+
+	/** instance variable */
+	private final Comparator<? super T> comparator;
+
+	/** constructor */
+	public SortedListSet() {
+		this(ListSort.NATURAL_ORDER);
+	}
+
+	/**
+	 * Creates an empty SortedListSet ordered by a {@link Comparator}.
+	 *
+	 * @param c
+	 *            the order to keep the elements in
+	 */
+	public SortedListSet(Comparator<? super T> c) {
+		super(ImmutableList.<T> nil());
+		comparator = c;
+	}
+
+	/**
+	 * Creates a SortedListSet holding the elements of an {@link ImmutableList}
+	 * of {@link Comparable} elements, in their natural order. The list does not
+	 * need to be sorted and may contain duplicates.
+	 *
+	 * @param a
+	 *            the elements of the set
+	 */
+	public SortedListSet(ImmutableList<T> a) {
+		this(a, ListSort.NATURAL_ORDER);
+	}
+
+	/**
+	 * Creates a SortedListSet holding the elements of an {@link ImmutableList}
+	 * ordered by a {@link Comparator}. The list does not need to be sorted and
+	 * may contain duplicates.
+	 *
+	 * @param a
+	 *            the elements of the set
+	 * @param c
+	 *            the order to keep the elements in
+	 */
+	public SortedListSet(ImmutableList<T> a, Comparator<? super T> c) {
+		super(distinct(ListSort.naturalMergesort(a, c), c));
+		comparator = c;
+	}
+
+	/**
+	 * Wraps a list that is already sorted by c and free of duplicates.
+	 */
+	static <T> SortedListSet<T> fromSorted(ImmutableList<T> sorted,
+			Comparator<? super T> c) {
+		SortedListSet<T> set = new SortedListSet<T>(c);
+		set.list = sorted;
+		return set;
+	}
+
+	/**
+	 * Accesses the order this set keeps its elements in.
+	 *
+	 * @return comparator the order of the elements
+	 */
+	public Comparator<? super T> getComparator() {
+		return comparator;
+	}
+
+	/**
+	 * Checks whether a specified Object is a member of the set or not,
+	 * stopping at the first element that is not less than it. An Object the
+	 * order cannot compare with the elements is not a member.
+	 *
+	 * @param object
+	 *            the Object to check whether or not a member of the set
+	 * @return true if the Object is a member, false if the Object is not a
+	 *         member
+	 */
+	public boolean isMember(Object object) {
+		Comparator<Object> c = order();
+		ImmutableList<T> l = list;
+		int cmp = -1;
+		try {
+			while (!l.isEmpty() && (cmp = c.compare(l.head(), object)) < 0)
+				l = l.tail();
+		} catch (ClassCastException e) {
+			return false;
+		}
+		return cmp == 0;
+	}
+
+	/**
+	 * Creates a new set with the union of this set and another set. Does not
+	 * modify the current set.
+	 *
+	 * @param otherSet
+	 *            set to union with
+	 * @return the union of this set and the other set
+	 */
+	public Set<T> union(Set<T> otherSet) {
+		Comparator<Object> c = order();
+		ImmutableList<T> a = list;
+		ImmutableList<T> b = sortedList(otherSet);
+		Object[] elements = new Object[a.length() + b.length()];
+		int n = 0;
+		while (!a.isEmpty() && !b.isEmpty()) {
+			int cmp = c.compare(a.head(), b.head());
+			if (cmp <= 0) {
+				elements[n++] = a.head();
+				a = a.tail();
+				if (cmp == 0)
+					b = b.tail();
+			} else {
+				elements[n++] = b.head();
+				b = b.tail();
+			}
+		}
+		return fromSorted(ImmutableList.prependAll(elements, n,
+				a.isEmpty() ? b : a), comparator);
+	}
+
+	/**
+	 * Creates a new set with the union of this set and another set. The merge
+	 * walk is already linear, so this gives the same result as
+	 * {@link #union(Set)} without using the pool.
+	 *
+	 * @param otherSet
+	 *            set to union with
+	 * @param ops
+	 *            unused
+	 * @return the union of this set and the other set
+	 */
+	public Set<T> union(Set<T> otherSet, ParallelListOps ops) {
+		return union(otherSet);
+	}
+
+	/**
+	 * Creates a new set with the intersection of this set and another set. Does
+	 * not modify the current set.
+	 *
+	 * @param otherSet
+	 *            set to intersect with
+	 * @return the intersection of this set and the other set
+	 */
+	public Set<T> intersection(Set<T> otherSet) {
+		Comparator<Object> c = order();
+		ImmutableList<T> a = list;
+		ImmutableList<T> b = sortedList(otherSet);
+		Object[] elements = new Object[Math.min(a.length(), b.length())];
+		int n = 0;
+		while (!a.isEmpty() && !b.isEmpty()) {
+			int cmp = c.compare(a.head(), b.head());
+			if (cmp == 0) {
+				elements[n++] = a.head();
+				a = a.tail();
+				b = b.tail();
+			} else if (cmp < 0)
+				a = a.tail();
+			else
+				b = b.tail();
+		}
+		return fromSorted(
+				ImmutableList.prependAll(elements, n, ImmutableList.<T> nil()),
+				comparator);
+	}
+
+	/**
+	 * Creates a new set with the intersection of this set and another set. The
+	 * merge walk is already linear, so this gives the same result as
+	 * {@link #intersection(Set)} without using the pool.
+	 *
+	 * @param otherSet
+	 *            set to intersect with
+	 * @param ops
+	 *            unused
+	 * @return the intersection of this set and the other set
+	 */
+	public Set<T> intersection(Set<T> otherSet, ParallelListOps ops) {
+		return intersection(otherSet);
+	}
+
+	/**
+	 * Creates a new set with the elements of this set that are not in another
+	 * set. Does not modify the current set.
+	 *
+	 * @param otherSet
+	 *            set whose elements are left out
+	 * @return the difference of this set and the other set
+	 */
+	public Set<T> difference(Set<T> otherSet) {
+		Comparator<Object> c = order();
+		ImmutableList<T> a = list;
+		ImmutableList<T> b = sortedList(otherSet);
+		Object[] elements = new Object[a.length()];
+		int n = 0;
+		while (!a.isEmpty() && !b.isEmpty()) {
+			int cmp = c.compare(a.head(), b.head());
+			if (cmp == 0) {
+				a = a.tail();
+				b = b.tail();
+			} else if (cmp < 0) {
+				elements[n++] = a.head();
+				a = a.tail();
+			} else
+				b = b.tail();
+		}
+		return fromSorted(ImmutableList.prependAll(elements, n, a), comparator);
+	}
+
+	/**
+	 * Creates a copy of the current set. The copy shares this set's list, which
+	 * cannot change. Does not modify the current set.
+	 *
+	 * @return the copy of this set
+	 */
+	public Set<T> copy() {
+		return fromSorted(list, comparator);
+	}
+
+	/**
+	 * Adds an Object to this set in its sorted place if it is not already a
+	 * member. The part of the list after the new element is shared.
+	 *
+	 * @param object
+	 *            object to add
+	 */
+	public void add(T object) {
+		Comparator<Object> c = order();
+		Object[] elements = new Object[8];
+		int n = 0;
+		ImmutableList<T> rest = list;
+		int cmp = -1;
+		while (!rest.isEmpty() && (cmp = c.compare(rest.head(), object)) < 0) {
+			if (n == elements.length)
+				elements = Arrays.copyOf(elements, 2 * n);
+			elements[n++] = rest.head();
+			rest = rest.tail();
+		}
+		if (cmp != 0)
+			list = ImmutableList.prependAll(elements, n, rest.push(object));
+	}
+
+	/**
+	 * Removes an Object from this set. The part of the list after the removed
+	 * element is shared. Does nothing if the order cannot compare the Object
+	 * with the elements.
+	 *
+	 * @param object
+	 *            object to delete
+	 */
+	public void remove(Object object) {
+		Comparator<Object> c = order();
+		int n = 0;
+		ImmutableList<T> rest = list;
+		int cmp = -1;
+		try {
+			while (!rest.isEmpty()
+					&& (cmp = c.compare(rest.head(), object)) < 0) {
+				rest = rest.tail();
+				n++;
+			}
+		} catch (ClassCastException e) {
+			return;
+		}
+		if (cmp != 0)
+			return;
+		Object[] elements = new Object[n];
+		ImmutableList<T> l = list;
+		for (int i = 0; i < n; i++) {
+			elements[i] = l.head();
+			l = l.tail();
+		}
+		list = ImmutableList.prependAll(elements, n, rest.tail());
+	}
+
+	/**
+	 * Returns a {@link Spliterator} over the elements of this set, which
+	 * reports that they are sorted and distinct.
+	 *
+	 * @return {@link Spliterator} for this set
+	 */
+	public Spliterator<T> spliterator() {
+		return new ListSpliterator<T>(list, Spliterator.SORTED
+				| Spliterator.DISTINCT,
+				comparator == ListSort.NATURAL_ORDER ? null : comparator);
+	}
+
+	/**
+	 * Creates an empty copy of this set, with the same order. Does not modify
+	 * the current set.
+	 *
+	 * @return an empty copy of this set
+	 */
+	public Set<T> empty() {
+		return new SortedListSet<T>(comparator);
+	}
+
+	/**
+	 * Returns the order to compare elements by: the order for one type from
+	 * {@link ListSort} if this set is in the natural order of Integers, Longs
+	 * or Strings, and this set's comparator otherwise. The order is returned
+	 * as a Comparator of Objects so that isMember and remove, which take any
+	 * Object, can use it; an Object of the wrong type makes it throw a
+	 * ClassCastException.
+	 */
+	@SuppressWarnings("unchecked")
+	private Comparator<Object> order() {
+		return (Comparator<Object>) ListSort.specialize(comparator,
+				list.head());
+	}
+
+	/**
+	 * Returns the elements of another set as a list sorted by this set's order
+	 * and free of duplicates.
+	 */
+	private ImmutableList<T> sortedList(Set<T> otherSet) {
+		if (otherSet instanceof SortedListSet
+				&& ((SortedListSet<T>) otherSet).comparator.equals(comparator))
+			return ((ListSet<T>) otherSet).getList();
+		return distinct(ListSort.naturalMergesort(ListSet.listOf(otherSet),
+				comparator), comparator);
+	}
+
+	/**
+	 * Removes the duplicates from a sorted list, sharing the longest suffix
+	 * that has none.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> ImmutableList<T> distinct(ImmutableList<T> sorted,
+			Comparator<? super T> c) {
+		ImmutableList<T> lastDuplicate = null;
+		ImmutableList<T> l = sorted;
+		while (!l.isEmpty() && !l.tail().isEmpty()) {
+			if (c.compare(l.head(), l.tail().head()) == 0)
+				lastDuplicate = l;
+			l = l.tail();
+		}
+		if (lastDuplicate == null)
+			return sorted;
+		Object[] elements = new Object[sorted.length()];
+		int n = 0;
+		l = sorted;
+		while (l != lastDuplicate) {
+			if (n == 0 || c.compare((T) elements[n - 1], l.head()) != 0)
+				elements[n++] = l.head();
+			l = l.tail();
+		}
+		if (n > 0 && c.compare((T) elements[n - 1], l.head()) == 0)
+			n--;
+		return ImmutableList.prependAll(elements, n, l.tail());
+	}
+}
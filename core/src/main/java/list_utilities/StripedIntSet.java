@@ -0,0 +1,361 @@
+/**********************************************
+ * StripedIntSet.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@link StripedIntSet} class is a thread-safe {@link Set} of ints for
+ * workloads with many writers. The ints are spread over a fixed number of
+ * segments by the high bits of their hash, and each segment is an
+ * {@link IntSet} guarded by its own lock. Threads working on different
+ * segments never wait for each other, so with enough segments throughput
+ * grows with the number of cores.
+ *
+ * Calls on one int are atomic. Calls that look at the whole set, such as
+ * size(), copy(), union and intersection, lock one segment at a time and are
+ * only weakly consistent: each segment is seen in a consistent state, but
+ * changes made to other segments while the call runs may or may not be seen.
+ *
+ * When both sets have the same number of segments, every int is in the same
+ * segment of both, so union and intersection combine the sets segment by
+ * segment, running the segments in parallel on a {@link ForkJoinPool}.
+ */
+
+public class StripedIntSet implements Set<Integer> {
+
+	/** instance variables */
+	private static final int PARALLEL_THRESHOLD = 8192;
+	private final IntSet[] segments;
+	private final int shift;
+
+	/** constructor */
+	public StripedIntSet() {
+		this(4 * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates an empty StripedIntSet with at least the given number of
+	 * segments. The number is rounded up to a power of two.
+	 *
+	 * @param concurrencyLevel
+	 *            the number of threads expected to write at once
+	 */
+	public StripedIntSet(int concurrencyLevel) {
+		int n = 1;
+		while (n < concurrencyLevel && n < (1 << 16))
+			n <<= 1;
+		segments = new IntSet[n];
+		for (int i = 0; i < n; i++)
+			segments[i] = new IntSet();
+		shift = 32 - Integer.numberOfTrailingZeros(n);
+	}
+
+	/**
+	 * Calculates the size of the set.
+	 *
+	 * @return int representing the number of elements in the set
+	 */
+	public int size() {
+		int size = 0;
+		for (int i = 0; i < segments.length; i++) {
+			synchronized (segments[i]) {
+				size += segments[i].size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Checks if the set is empty or not.
+	 *
+	 * @return true if the set is empty, false if the set is not empty
+	 */
+	public boolean isEmpty() {
+		for (int i = 0; i < segments.length; i++) {
+			synchronized (segments[i]) {
+				if (!segments[i].isEmpty())
+					return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether a specified Object is a member of the set or not. Only
+	 * Integers can be members.
+	 *
+	 * @param object
+	 *            the Object to check whether or not a member of the set
+	 * @return true if the Object is a member, false if the Object is not a
+	 *         member
+	 */
+	public boolean isMember(Object object) {
+		return object instanceof Integer
+				&& isMember(((Integer) object).intValue());
+	}
+
+	/**
+	 * Checks whether a specified int is a member of the set or not.
+	 *
+	 * @param d
+	 *            the int to check whether or not a member of the set
+	 * @return true if the int is a member, false if the int is not a member
+	 */
+	public boolean isMember(int d) {
+		IntSet segment = segmentFor(d);
+		synchronized (segment) {
+			return segment.isMember(d);
+		}
+	}
+
+	/**
+	 * Creates a new set with the union of this set and another set. Does not
+	 * modify the current set.
+	 *
+	 * @param otherSet
+	 *            set to union with
+	 * @return unionSet the union of this set and the other set
+	 */
+	public Set<Integer> union(Set<Integer> otherSet) {
+		if (hasSameSegments(otherSet))
+			return bulk(SegmentTask.UNION, (StripedIntSet) otherSet);
+		StripedIntSet unionSet = bulk(SegmentTask.COPY, null);
+		Iterator<Integer> it = otherSet.iterator();
+		while (it.hasNext())
+			unionSet.add(it.next());
+		return unionSet;
+	}
+
+	/**
+	 * Creates a new set with the intersection of this set and another set. Does
+	 * not modify the current set.
+	 *
+	 * @param otherSet
+	 *            set to intersect with
+	 * @return intersectionSet intersection of this set and the other set
+	 */
+	public Set<Integer> intersection(Set<Integer> otherSet) {
+		if (hasSameSegments(otherSet))
+			return bulk(SegmentTask.INTERSECTION, (StripedIntSet) otherSet);
+		StripedIntSet intersectionSet = new StripedIntSet(segments.length);
+		Iterator<Integer> it = otherSet.iterator();
+		while (it.hasNext()) {
+			int d = it.next();
+			if (isMember(d))
+				intersectionSet.add(d);
+		}
+		return intersectionSet;
+	}
+
+	/**
+	 * Creates a weakly consistent snapshot of the current set. Does not modify
+	 * the current set.
+	 *
+	 * @return setCopy the copy of this set
+	 */
+	public Set<Integer> copy() {
+		return bulk(SegmentTask.COPY, null);
+	}
+
+	/**
+	 * Adds an Integer to this set.
+	 *
+	 * @param object
+	 *            object to add
+	 */
+	public void add(Integer object) {
+		add(object.intValue());
+	}
+
+	/**
+	 * Adds an int to this set if it is not already a member.
+	 *
+	 * @param d
+	 *            int to add
+	 */
+	public void add(int d) {
+		IntSet segment = segmentFor(d);
+		synchronized (segment) {
+			segment.add(d);
+		}
+	}
+
+	/**
+	 * Removes an Object from this set. Does nothing if the Object is not a
+	 * member.
+	 *
+	 * @param object
+	 *            object to delete
+	 */
+	public void remove(Object object) {
+		if (object instanceof Integer)
+			remove(((Integer) object).intValue());
+	}
+
+	/**
+	 * Removes an int from this set. Does nothing if the int is not a member.
+	 *
+	 * @param d
+	 *            int to delete
+	 */
+	public void remove(int d) {
+		IntSet segment = segmentFor(d);
+		synchronized (segment) {
+			segment.remove(d);
+		}
+	}
+
+	/**
+	 * Returns an {@link Iterator} over a weakly consistent snapshot of this
+	 * set.
+	 *
+	 * @return {@link Iterator} for this set
+	 */
+	public Iterator<Integer> iterator() {
+		return new Iterator<Integer>(toList());
+	}
+
+	/**
+	 * Creates an empty copy of this set, with the same number of segments.
+	 * Does not modify the current set.
+	 *
+	 * @return an empty copy of this set
+	 */
+	public Set<Integer> empty() {
+		return new StripedIntSet(segments.length);
+	}
+
+	/**
+	 * Creates an {@link ImmutableList} of a weakly consistent snapshot of the
+	 * elements of this set, boxed, in no particular order.
+	 *
+	 * @return list the elements of this set
+	 */
+	public ImmutableList<Integer> toList() {
+		ImmutableList<Integer> list = ImmutableList.nil();
+		for (int i = segments.length - 1; i >= 0; i--) {
+			IntImmutableList elements;
+			synchronized (segments[i]) {
+				elements = segments[i].toIntList();
+			}
+			IntIterator it = elements.intIterator();
+			while (it.hasNext())
+				list = list.push(it.next());
+		}
+		return list;
+	}
+
+	/**
+	 * Creates a String version of this set.
+	 *
+	 * @return String representing this set
+	 */
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		for (ImmutableList<Integer> l = toList(); !l.isEmpty(); l = l.tail()) {
+			if (sb.length() > 1)
+				sb.append(' ');
+			sb.append(l.head());
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * Finds the segment an int belongs to, by the high bits of its hash.
+	 */
+	private IntSet segmentFor(int d) {
+		return segments.length == 1 ? segments[0]
+				: segments[IntSet.hash(d) >>> shift];
+	}
+
+	/**
+	 * Checks whether another set is a StripedIntSet with the same number of
+	 * segments, so that every int is in the same segment of both sets.
+	 */
+	private boolean hasSameSegments(Set<Integer> otherSet) {
+		return otherSet instanceof StripedIntSet
+				&& ((StripedIntSet) otherSet).segments.length
+						== segments.length;
+	}
+
+	/**
+	 * Builds a new set by running a {@link SegmentTask} on every segment, in
+	 * parallel if the set is large enough.
+	 */
+	private StripedIntSet bulk(int kind, StripedIntSet other) {
+		StripedIntSet result = new StripedIntSet(segments.length);
+		SegmentTask task = new SegmentTask(kind, this, other, result, 0,
+				segments.length);
+		if (size() < PARALLEL_THRESHOLD)
+			task.compute();
+		else
+			ForkJoinPool.commonPool().invoke(task);
+		return result;
+	}
+
+	/**
+	 * The {@link SegmentTask} class fills the segments [from, to) of a result
+	 * set with a copy of the segments of a set, or their union or
+	 * intersection with the segments of another set with the same number of
+	 * segments. The other set's segment is copied before this set's segment
+	 * is locked, so no thread ever holds two segment locks at once and two
+	 * calls combining the same sets in opposite order cannot deadlock.
+	 */
+	private static final class SegmentTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/** instance variables */
+		static final int COPY = 0;
+		static final int UNION = 1;
+		static final int INTERSECTION = 2;
+		private final int kind;
+		private final StripedIntSet set;
+		private final StripedIntSet other;
+		private final StripedIntSet result;
+		private final int from;
+		private final int to;
+
+		/** constructor */
+		SegmentTask(int kind, StripedIntSet set, StripedIntSet other,
+				StripedIntSet result, int from, int to) {
+			this.kind = kind;
+			this.set = set;
+			this.other = other;
+			this.result = result;
+			this.from = from;
+			this.to = to;
+		}
+
+		protected void compute() {
+			if (to - from > 1 && inForkJoinPool()) {
+				int mid = (from + to) >>> 1;
+				invokeAll(new SegmentTask(kind, set, other, result, from, mid),
+						new SegmentTask(kind, set, other, result, mid, to));
+				return;
+			}
+			for (int i = from; i < to; i++) {
+				IntSet mine = set.segments[i];
+				IntSet theirs = null;
+				if (kind != COPY) {
+					synchronized (other.segments[i]) {
+						theirs = (IntSet) other.segments[i].copy();
+					}
+				}
+				synchronized (mine) {
+					if (kind == UNION)
+						result.segments[i] = (IntSet) mine.union(theirs);
+					else if (kind == INTERSECTION)
+						result.segments[i] = (IntSet) mine.intersection(theirs);
+					else
+						result.segments[i] = (IntSet) mine.copy();
+				}
+			}
+		}
+	}
+}
@@ -35,19 +35,19 @@ public final class IO {
 	 *         successfully or an empty string if otherwise
 	 */
 	public static String readFile(String fileName) {
-		String fileContents = "";
+		StringBuilder fileContents = new StringBuilder();
 		BufferedReader bufferedReader;
 		try {
 			bufferedReader = new BufferedReader(new FileReader(fileName));
 			String line;
 			while ((line = bufferedReader.readLine()) != null) {
-				fileContents += line + "\n";
+				fileContents.append(line).append('\n');
 			}
 			bufferedReader.close();
 		} catch (IOException e) {
 			stderr.println("Cannnot open file: " + fileName);
 		}
-		return fileContents;
+		return fileContents.toString();
 	}
 
 	/**
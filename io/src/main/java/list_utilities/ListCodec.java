@@ -0,0 +1,448 @@
+/**********************************************
+ * ListCodec.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The {@link ListCodec} class converts lists and sets of Integers to and from
+ * a compact binary form, for sending them between processes or storing them,
+ * and renders lists as text straight into a {@link ByteBuffer}.
+ *
+ * The binary form is a version byte, the number of elements as a varint, and
+ * then each element as the zigzag-encoded difference from the one before it
+ * (the first from zero), also as a varint:
+ *
+ * <pre>
+ * byte    version (1)
+ * varint  count
+ * varint  zigzag(element[i] - element[i - 1])   count times
+ * </pre>
+ *
+ * A varint takes seven bits per byte, low bits first, with the top bit set on
+ * every byte but the last. Zigzag encoding maps small negative differences to
+ * small unsigned numbers, so a list of nearby ints takes one or two bytes per
+ * element whatever their order. Sets are written sorted, so consecutive ids
+ * take a single byte each.
+ */
+
+public final class ListCodec {
+
+	/** instance variables */
+	private static final int VERSION = 1;
+	private static final int CHUNK = 8192;
+
+	/** constructor */
+	private ListCodec() {
+	}
+
+	/**
+	 * Encodes an {@link ImmutableList} of Integers, in order.
+	 *
+	 * @param list
+	 *            the list to encode
+	 * @return the encoded list
+	 */
+	public static byte[] encode(ImmutableList<Integer> list) {
+		byte[] bytes = new byte[maxEncodedLength(list.length())];
+		int n = encode(toArray(list), list.length(), bytes);
+		return Arrays.copyOf(bytes, n);
+	}
+
+	/**
+	 * Encodes the elements of a {@link Set} of Integers, in ascending order.
+	 *
+	 * @param set
+	 *            the set to encode
+	 * @return the encoded set
+	 */
+	public static byte[] encode(Set<Integer> set) {
+		int[] values = sortedValues(set);
+		byte[] bytes = new byte[maxEncodedLength(values.length)];
+		int n = encode(values, values.length, bytes);
+		return Arrays.copyOf(bytes, n);
+	}
+
+	/**
+	 * Decodes a list encoded by {@link #encode(ImmutableList)}.
+	 *
+	 * @param bytes
+	 *            the encoded list
+	 * @return the decoded list
+	 * @throws IllegalArgumentException
+	 *             if the bytes are not an encoded list
+	 */
+	public static ImmutableList<Integer> decode(byte[] bytes) {
+		return read(ByteBuffer.wrap(bytes));
+	}
+
+	/**
+	 * Decodes a set encoded by {@link #encode(Set)} into a
+	 * {@link SortedListSet}.
+	 *
+	 * @param bytes
+	 *            the encoded set
+	 * @return the decoded set
+	 * @throws IllegalArgumentException
+	 *             if the bytes are not an encoded list
+	 */
+	public static SortedListSet<Integer> decodeSet(byte[] bytes) {
+		return toSet(decode(bytes));
+	}
+
+	/**
+	 * Writes an encoded {@link ImmutableList} of Integers into a
+	 * {@link ByteBuffer}, at its position.
+	 *
+	 * @param list
+	 *            the list to write
+	 * @param out
+	 *            the buffer to write to
+	 * @throws java.nio.BufferOverflowException
+	 *             if the buffer is too small
+	 */
+	public static void write(ImmutableList<Integer> list, ByteBuffer out) {
+		out.put((byte) VERSION);
+		putVarint(out, list.length());
+		int previous = 0;
+		for (; !list.isEmpty(); list = list.tail()) {
+			int d = list.head();
+			putVarint(out, zigzag(d - previous));
+			previous = d;
+		}
+	}
+
+	/**
+	 * Reads an encoded list from a {@link ByteBuffer}, starting at its
+	 * position and leaving the position after the list.
+	 *
+	 * @param in
+	 *            the buffer to read from
+	 * @return the decoded list
+	 * @throws IllegalArgumentException
+	 *             if the bytes are not an encoded list
+	 */
+	public static ImmutableList<Integer> read(ByteBuffer in) {
+		try {
+			int version = in.get();
+			if (version != VERSION)
+				throw new IllegalArgumentException(
+						"Unsupported list encoding version: " + version);
+			int count = getVarint(in);
+			if (count < 0)
+				throw new IllegalArgumentException("Bad list length: " + count);
+			ListBuilder<Integer> builder = new ListBuilder<Integer>(Math.min(
+					count, in.remaining()));
+			int previous = 0;
+			for (int i = 0; i < count; i++) {
+				previous += unzigzag(getVarint(in));
+				builder.add(previous);
+			}
+			return builder.build();
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated list", e);
+		}
+	}
+
+	/**
+	 * Writes an encoded {@link ImmutableList} of Integers to a stream, a chunk
+	 * at a time.
+	 *
+	 * @param list
+	 *            the list to write
+	 * @param out
+	 *            the stream to write to
+	 * @throws IOException
+	 *             if the stream cannot be written to
+	 */
+	public static void write(ImmutableList<Integer> list, OutputStream out)
+			throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK);
+		buffer.put((byte) VERSION);
+		putVarint(buffer, list.length());
+		int previous = 0;
+		for (; !list.isEmpty(); list = list.tail()) {
+			if (buffer.remaining() < 5) {
+				out.write(buffer.array(), 0, buffer.position());
+				buffer.clear();
+			}
+			int d = list.head();
+			putVarint(buffer, zigzag(d - previous));
+			previous = d;
+		}
+		out.write(buffer.array(), 0, buffer.position());
+	}
+
+	/**
+	 * Writes the elements of an encoded {@link Set} of Integers to a stream,
+	 * in ascending order.
+	 *
+	 * @param set
+	 *            the set to write
+	 * @param out
+	 *            the stream to write to
+	 * @throws IOException
+	 *             if the stream cannot be written to
+	 */
+	public static void write(Set<Integer> set, OutputStream out)
+			throws IOException {
+		out.write(encode(set));
+	}
+
+	/**
+	 * Reads an encoded list from a stream. Only the bytes of the list are
+	 * read.
+	 *
+	 * @param in
+	 *            the stream to read from
+	 * @return the decoded list
+	 * @throws IOException
+	 *             if the stream cannot be read or does not hold an encoded
+	 *             list
+	 */
+	public static ImmutableList<Integer> read(InputStream in)
+			throws IOException {
+		int version = in.read();
+		if (version != VERSION)
+			throw new IOException(version < 0 ? "Truncated list"
+					: "Unsupported list encoding version: " + version);
+		int count = readVarint(in);
+		if (count < 0)
+			throw new IOException("Bad list length: " + count);
+		ListBuilder<Integer> builder = new ListBuilder<Integer>(Math.min(
+				count, CHUNK));
+		int previous = 0;
+		for (int i = 0; i < count; i++) {
+			previous += unzigzag(readVarint(in));
+			builder.add(previous);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Reads an encoded set from a stream into a {@link SortedListSet}.
+	 *
+	 * @param in
+	 *            the stream to read from
+	 * @return the decoded set
+	 * @throws IOException
+	 *             if the stream cannot be read or does not hold an encoded
+	 *             list
+	 */
+	public static SortedListSet<Integer> readSet(InputStream in)
+			throws IOException {
+		return toSet(read(in));
+	}
+
+	/**
+	 * Writes the String version of an {@link ImmutableList} into a
+	 * {@link ByteBuffer} as UTF-8, the same text toString() would return.
+	 * Integer elements are written digit by digit without creating Strings.
+	 *
+	 * @param list
+	 *            the list to write
+	 * @param out
+	 *            the buffer to write to
+	 * @throws java.nio.BufferOverflowException
+	 *             if the buffer is too small
+	 */
+	public static void writeText(ImmutableList<?> list, ByteBuffer out) {
+		writeText(list, '(', ')', out);
+	}
+
+	/**
+	 * Writes the String version of a {@link ListSet} into a
+	 * {@link ByteBuffer} as UTF-8, the same text toString() would return.
+	 *
+	 * @param set
+	 *            the set to write
+	 * @param out
+	 *            the buffer to write to
+	 * @throws java.nio.BufferOverflowException
+	 *             if the buffer is too small
+	 */
+	public static void writeText(ListSet<?> set, ByteBuffer out) {
+		writeText(set.getList(), '{', '}', out);
+	}
+
+	/**
+	 * Writes the elements of a list separated by spaces, between an opening
+	 * and a closing character.
+	 */
+	private static void writeText(ImmutableList<?> l, char open, char close,
+			ByteBuffer out) {
+		out.put((byte) open);
+		for (; !l.isEmpty(); l = l.tail()) {
+			if (l.head() instanceof Integer)
+				putDecimal(out, (Integer) l.head());
+			else {
+				out.put(String.valueOf(l.head()).getBytes(
+						StandardCharsets.UTF_8));
+			}
+			if (!l.tail().isEmpty())
+				out.put((byte) ' ');
+		}
+		out.put((byte) close);
+	}
+
+	/**
+	 * Writes an int in decimal ASCII digits.
+	 */
+	private static void putDecimal(ByteBuffer out, int d) {
+		long v = d;
+		if (v < 0) {
+			out.put((byte) '-');
+			v = -v;
+		}
+		long divisor = 1;
+		while (divisor * 10 <= v)
+			divisor *= 10;
+		for (; divisor > 0; divisor /= 10)
+			out.put((byte) ('0' + (v / divisor) % 10));
+	}
+
+	/**
+	 * Encodes the first n ints of an array into bytes, which must be long
+	 * enough, and returns the number of bytes used.
+	 */
+	private static int encode(int[] values, int n, byte[] bytes) {
+		ByteBuffer out = ByteBuffer.wrap(bytes);
+		out.put((byte) VERSION);
+		putVarint(out, n);
+		int previous = 0;
+		for (int i = 0; i < n; i++) {
+			putVarint(out, zigzag(values[i] - previous));
+			previous = values[i];
+		}
+		return out.position();
+	}
+
+	/**
+	 * Collects the elements of a set of Integers into a sorted array without
+	 * duplicates; {@link SetStore} uses it to write a snapshot of any set. The
+	 * set's size() is only taken as a hint, since a set shared with other
+	 * threads may have grown by the time its iterator is done.
+	 */
+	static int[] sortedValues(Set<Integer> set) {
+		if (set instanceof SetStore)
+			set = set.copy();
+		if (set instanceof RoaringSet)
+			return ((RoaringSet) set).toArray();
+		int[] values;
+		int n;
+		if (set instanceof ListSet) {
+			values = toArray(((ListSet<Integer>) set).getList());
+			n = values.length;
+		} else {
+			values = new int[set.size()];
+			n = 0;
+			Iterator<Integer> it = set.iterator();
+			while (it.hasNext()) {
+				if (n == values.length)
+					values = Arrays.copyOf(values, 2 * n + 1);
+				values[n++] = it.next();
+			}
+		}
+		Arrays.sort(values, 0, n);
+		int distinct = 0;
+		for (int i = 0; i < n; i++) {
+			if (distinct == 0 || values[i] != values[distinct - 1])
+				values[distinct++] = values[i];
+		}
+		return distinct == values.length ? values : Arrays.copyOf(values,
+				distinct);
+	}
+
+	/**
+	 * Copies a list of Integers into an int array.
+	 */
+	private static int[] toArray(ImmutableList<Integer> list) {
+		int[] values = new int[list.length()];
+		for (int i = 0; !list.isEmpty(); list = list.tail())
+			values[i++] = list.head();
+		return values;
+	}
+
+	/**
+	 * Wraps a decoded list as a set, sorting it and dropping duplicates only
+	 * if it was not written sorted.
+	 */
+	private static SortedListSet<Integer> toSet(ImmutableList<Integer> list) {
+		for (ImmutableList<Integer> l = list; !l.isEmpty()
+				&& !l.tail().isEmpty(); l = l.tail()) {
+			if (l.head() >= l.tail().head())
+				return new SortedListSet<Integer>(list);
+		}
+		return SortedListSet.fromSorted(list, ListSort.NATURAL_ORDER);
+	}
+
+	/**
+	 * The most bytes n ints can take: the version byte and up to five bytes
+	 * for the count and for each element.
+	 */
+	private static int maxEncodedLength(int n) {
+		return 1 + 5 + 5 * n;
+	}
+
+	/**
+	 * Maps ints near zero to small unsigned ints: 0, -1, 1, -2, ... The
+	 * zigzag and varint helpers are shared with {@link SetStore}, so both
+	 * write ints the same way.
+	 */
+	static int zigzag(int d) {
+		return (d << 1) ^ (d >> 31);
+	}
+
+	/** reverses {@link #zigzag(int)} */
+	static int unzigzag(int z) {
+		return (z >>> 1) ^ -(z & 1);
+	}
+
+	/** writes an int as an unsigned varint */
+	static void putVarint(ByteBuffer out, int v) {
+		while ((v & ~0x7F) != 0) {
+			out.put((byte) ((v & 0x7F) | 0x80));
+			v >>>= 7;
+		}
+		out.put((byte) v);
+	}
+
+	/**
+	 * Reads an unsigned varint from a buffer, throwing an
+	 * IllegalArgumentException if it runs past the end of the buffer or is
+	 * longer than five bytes.
+	 */
+	static int getVarint(ByteBuffer in) {
+		int v = 0;
+		for (int shift = 0; shift < 35 && in.hasRemaining(); shift += 7) {
+			byte b = in.get();
+			v |= (b & 0x7F) << shift;
+			if (b >= 0)
+				return v;
+		}
+		throw new IllegalArgumentException("Malformed varint");
+	}
+
+	/** reads an unsigned varint from a stream */
+	private static int readVarint(InputStream in) throws IOException {
+		int v = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = in.read();
+			if (b < 0)
+				throw new IOException("Truncated list");
+			v |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return v;
+		}
+		throw new IOException("Malformed varint");
+	}
+}
@@ -25,10 +25,11 @@ public class ListSetTest {
 		String s = "";
 		for (int i = 0; i < args.length - 1; i++)
 			s += args[i] + " ";
-		ImmutableList immListTest = ImmutableList.parseIntList(s).reverse();
+		ImmutableList<Integer> immListTest = ImmutableList.parseIntList(s);
 		immListTest = immListTest.purge().mergesort();
-		ImmutableList setTest = ImmutableList.parseIntList(s).reverse().purge();
-		ListSet listSetTest = new ListSet(setTest);
+		ImmutableList<Integer> setTest = ImmutableList.parseIntList(s).reverse()
+				.purge().reverse();
+		ListSet<Integer> listSetTest = new ListSet<Integer>(setTest);
 
 		/**
 		 * Prints the results of testing the {@link ImmutableList} and
@@ -52,8 +53,9 @@ public class ListSetTest {
 				+ listSetTest.isMember(48));
 		IO.stdout.println("Copy of the Set: " + listSetTest.copy());
 		String otherString = "5 10 4 3 7";
-		ImmutableList otherList = ImmutableList.parseIntList(otherString);
-		ListSet otherSetTest = new ListSet(otherList);
+		ImmutableList<Integer> otherList = ImmutableList
+				.parseIntList(otherString);
+		ListSet<Integer> otherSetTest = new ListSet<Integer>(otherList);
 		IO.stdout.println("Union with Set " + otherSetTest + ": "
 				+ listSetTest.union(otherSetTest));
 		IO.stdout.println("Intersection with Set " + otherSetTest + ": "
@@ -0,0 +1,405 @@
+/**********************************************
+ * MappedIntSet.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The {@link MappedIntSet} class is a read-only {@link Set} of ints stored in
+ * a binary set file and memory-mapped rather than read onto the heap. Every
+ * process that opens the same file shares the operating system's copy of its
+ * pages, and a set can be larger than the heap.
+ *
+ * A set file holds a header, a sparse index and the sorted, distinct ints:
+ *
+ * <pre>
+ * int  magic ("LUIS")     int  version (1)
+ * long count              int  block size (ints per block)
+ * int  index count        long index offset   int reserved
+ * int[index count]        first int of each block, at the index offset
+ * int[count]              the ints in ascending order, after the index
+ * </pre>
+ *
+ * isMember does a binary search of the index to find the one block that could
+ * hold the int, and then a binary search of that block. Files larger than one
+ * mapping can cover are mapped in several segments.
+ *
+ * Use {@link #write(String, ImmutableList)} to create a set file from an
+ * {@link ImmutableList} or {@link ListSet} of Integers.
+ *
+ * The mapping is not released until the buffers are collected, which can be
+ * long after the set is dropped, and until then the set holds on to its
+ * pages and, on Windows, keeps the file from being replaced. Call
+ * {@link #close()} (or use the set in a try-with-resources statement) to
+ * unmap it as soon as the set is no longer needed; any later call on the set
+ * throws an IllegalStateException. As with an {@link OffHeapIntSet}, no other
+ * call may be in progress when the set is closed, since reading an unmapped
+ * page can crash the JVM.
+ */
+
+public class MappedIntSet implements Set<Integer>, Closeable {
+
+	/** instance variables */
+	private static final int MAGIC = 0x4C554953;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 36;
+	private static final int BLOCK_SIZE = 1024;
+	private static final int SEGMENT_BITS = 30;
+	private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+	private MappedByteBuffer[] segments;
+	private final long count;
+	private final int blockSize;
+	private final int indexCount;
+	private final long indexOffset;
+	private final long dataOffset;
+
+	/** constructor */
+	private MappedIntSet(MappedByteBuffer[] s) throws IOException {
+		segments = s;
+		if (getInt(0) != MAGIC)
+			throw new IOException("Not a set file");
+		if (getInt(4) != VERSION)
+			throw new IOException("Unsupported set file version: "
+					+ getInt(4));
+		count = ((long) getInt(8) << 32) | (getInt(12) & 0xFFFFFFFFL);
+		blockSize = getInt(16);
+		indexCount = getInt(20);
+		indexOffset = ((long) getInt(24) << 32) | (getInt(28) & 0xFFFFFFFFL);
+		dataOffset = indexOffset + 4L * indexCount;
+	}
+
+	/**
+	 * Opens a set file and maps it into memory.
+	 *
+	 * @param fileName
+	 *            name of the set file
+	 * @return the set stored in the file
+	 * @throws IOException
+	 *             if the file cannot be read or is not a set file
+	 */
+	public static MappedIntSet open(String fileName) throws IOException {
+		FileChannel channel = FileChannel.open(Paths.get(fileName),
+				StandardOpenOption.READ);
+		try {
+			long size = channel.size();
+			if (size < HEADER_SIZE)
+				throw new IOException("Not a set file: " + fileName);
+			int n = (int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS);
+			MappedByteBuffer[] segments = new MappedByteBuffer[n];
+			for (int i = 0; i < n; i++) {
+				long start = (long) i << SEGMENT_BITS;
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+						Math.min(size - start, 1L << SEGMENT_BITS));
+			}
+			return new MappedIntSet(segments);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Writes the elements of an {@link ImmutableList} of Integers to a set
+	 * file, sorted and without duplicates.
+	 *
+	 * @param fileName
+	 *            name of the set file to create or replace
+	 * @param a
+	 *            the elements of the set
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public static void write(String fileName, ImmutableList<Integer> a)
+			throws IOException {
+		int[] values = new int[a.length()];
+		int n = 0;
+		for (; !a.isEmpty(); a = a.tail())
+			values[n++] = a.head();
+		Arrays.sort(values);
+		int distinct = 0;
+		for (int i = 0; i < n; i++) {
+			if (distinct == 0 || values[i] != values[distinct - 1])
+				values[distinct++] = values[i];
+		}
+		write(fileName, values, distinct);
+	}
+
+	/**
+	 * Writes the elements of a {@link ListSet} of Integers to a set file.
+	 *
+	 * @param fileName
+	 *            name of the set file to create or replace
+	 * @param set
+	 *            the set to write
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public static void write(String fileName, ListSet<Integer> set)
+			throws IOException {
+		write(fileName, set.getList());
+	}
+
+	/**
+	 * Writes the first n ints of a sorted array without duplicates to a set
+	 * file.
+	 */
+	private static void write(String fileName, int[] values, int n)
+			throws IOException {
+		int indexCount = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		FileChannel channel = FileChannel.open(Paths.get(fileName),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+			buffer.putInt(MAGIC).putInt(VERSION).putLong(n).putInt(BLOCK_SIZE)
+					.putInt(indexCount).putLong(HEADER_SIZE).putInt(0);
+			for (int b = 0; b < indexCount; b++)
+				buffer = putInt(channel, buffer, values[b * BLOCK_SIZE]);
+			for (int i = 0; i < n; i++)
+				buffer = putInt(channel, buffer, values[i]);
+			buffer.flip();
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Adds an int to the write buffer, first writing the buffer out if it is
+	 * full.
+	 */
+	private static ByteBuffer putInt(FileChannel channel, ByteBuffer buffer,
+			int d) throws IOException {
+		if (buffer.remaining() < 4) {
+			buffer.flip();
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			buffer.clear();
+		}
+		return buffer.putInt(d);
+	}
+
+	/**
+	 * Calculates the size of the set.
+	 *
+	 * @return int representing the number of elements in the set
+	 */
+	public int size() {
+		checkOpen();
+		return (int) Math.min(count, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Checks if the set is empty or not.
+	 *
+	 * @return true if the set is empty, false if the set is not empty
+	 */
+	public boolean isEmpty() {
+		checkOpen();
+		return count == 0;
+	}
+
+	/**
+	 * Checks whether a specified Object is a member of the set or not. Only
+	 * Integers can be members.
+	 *
+	 * @param object
+	 *            the Object to check whether or not a member of the set
+	 * @return true if the Object is a member, false if the Object is not a
+	 *         member
+	 */
+	public boolean isMember(Object object) {
+		return object instanceof Integer
+				&& isMember(((Integer) object).intValue());
+	}
+
+	/**
+	 * Checks whether a specified int is a member of the set or not.
+	 *
+	 * @param d
+	 *            the int to check whether or not a member of the set
+	 * @return true if the int is a member, false if the int is not a member
+	 */
+	public boolean isMember(int d) {
+		checkOpen();
+		int lo = 0;
+		int hi = indexCount - 1;
+		if (hi < 0 || d < getInt(indexOffset))
+			return false;
+		while (lo < hi) {
+			int mid = (lo + hi + 1) >>> 1;
+			if (getInt(indexOffset + 4L * mid) <= d)
+				lo = mid;
+			else
+				hi = mid - 1;
+		}
+		long from = (long) lo * blockSize;
+		long to = Math.min(count, from + blockSize) - 1;
+		while (from <= to) {
+			long mid = (from + to) >>> 1;
+			int value = getInt(dataOffset + 4L * mid);
+			if (value < d)
+				from = mid + 1;
+			else if (value > d)
+				to = mid - 1;
+			else
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Creates a new set with the union of this set and another set. The result
+	 * is a {@link SortedListSet} on the heap. Does not modify the current set.
+	 *
+	 * @param otherSet
+	 *            set to union with
+	 * @return the union of this set and the other set
+	 */
+	public Set<Integer> union(Set<Integer> otherSet) {
+		return SortedListSet.fromSorted(toList(), ListSort.NATURAL_ORDER)
+				.union(otherSet);
+	}
+
+	/**
+	 * Creates a new set with the intersection of this set and another set. The
+	 * result is a {@link SortedListSet} on the heap, and only the elements of
+	 * the other set, which may be any kind of {@link Set}, are looked up in
+	 * the file. Does not modify the current set.
+	 *
+	 * @param otherSet
+	 *            set to intersect with
+	 * @return the intersection of this set and the other set
+	 */
+	public Set<Integer> intersection(Set<Integer> otherSet) {
+		checkOpen();
+		ImmutableList<Integer> common = ImmutableList.nil();
+		for (Integer d : otherSet) {
+			if (isMember(d.intValue()))
+				common = common.push(d);
+		}
+		return new SortedListSet<Integer>(common);
+	}
+
+	/**
+	 * Returns this set, which cannot be modified. Since it is the same set,
+	 * closing the copy closes this set too.
+	 *
+	 * @return this set
+	 */
+	public Set<Integer> copy() {
+		checkOpen();
+		return this;
+	}
+
+	/**
+	 * Not supported: a MappedIntSet is read-only.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	public void add(Integer object) {
+		throw new UnsupportedOperationException("MappedIntSet is read-only");
+	}
+
+	/**
+	 * Not supported: a MappedIntSet is read-only.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	public void remove(Object object) {
+		throw new UnsupportedOperationException("MappedIntSet is read-only");
+	}
+
+	/**
+	 * Returns the {@link Iterator} that will iterate through the elements of
+	 * this set in ascending order.
+	 *
+	 * @return {@link Iterator} for this set
+	 */
+	public Iterator<Integer> iterator() {
+		return new Iterator<Integer>(toList());
+	}
+
+	/**
+	 * Creates an empty set. A MappedIntSet is read-only, so the empty set is a
+	 * {@link SortedListSet}. Does not modify the current set.
+	 *
+	 * @return an empty set
+	 */
+	public Set<Integer> empty() {
+		return new SortedListSet<Integer>();
+	}
+
+	/**
+	 * Creates an {@link ImmutableList} of the elements of this set in
+	 * ascending order, reading the whole file.
+	 *
+	 * @return list the elements of this set
+	 */
+	public ImmutableList<Integer> toList() {
+		checkOpen();
+		ImmutableList<Integer> list = ImmutableList.nil();
+		for (long i = count - 1; i >= 0; i--)
+			list = list.push(getInt(dataOffset + 4 * i));
+		return list;
+	}
+
+	/**
+	 * Creates a String version of this set.
+	 *
+	 * @return String representing this set
+	 */
+	public String toString() {
+		if (segments == null)
+			return "{closed}";
+		StringBuilder sb = new StringBuilder("{");
+		for (long i = 0; i < count; i++) {
+			if (i > 0)
+				sb.append(' ');
+			sb.append(getInt(dataOffset + 4 * i));
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * Unmaps the file. The set cannot be used afterwards. Closing a set that
+	 * is already closed has no effect. No other call on the set may be in
+	 * progress in another thread.
+	 */
+	public void close() {
+		MappedByteBuffer[] s = segments;
+		if (s == null)
+			return;
+		segments = null;
+		for (int i = 0; i < s.length; i++)
+			OffHeapIntSet.clean(s[i]);
+	}
+
+	/**
+	 * Throws an IllegalStateException if the set has been closed.
+	 */
+	private void checkOpen() {
+		if (segments == null)
+			throw new IllegalStateException("set is closed");
+	}
+
+	/**
+	 * Reads the int at a byte offset of the file.
+	 */
+	private int getInt(long offset) {
+		return segments[(int) (offset >>> SEGMENT_BITS)]
+				.getInt((int) (offset & SEGMENT_MASK));
+	}
+}
@@ -0,0 +1,814 @@
+/**********************************************
+ * SetStore.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * The {@link SetStore} class is a {@link Set} of ints kept in memory as a
+ * {@link RoaringSet} and persisted in a directory, so that a large set
+ * survives a restart without being printed with toString() and parsed again.
+ *
+ * The directory holds snapshots and logs, numbered by generation. Snapshot g
+ * holds the whole set as it was when log g was started, and log g records
+ * every add and remove that changed the set after that:
+ *
+ * <pre>
+ * snapshot-g   int magic ("LUSS")  int version (1)  long generation
+ *              long count          int block size (ints per block)
+ *              blocks: int n, int byte length, int CRC32 of the bytes,
+ *                      then the first int zigzag-encoded and the gaps
+ *                      to each next int, as varints
+ *              an empty block (n = 0) at the end
+ * log-g        int magic ("LUSL")  int version (1)  long generation
+ *              frames: int byte length, int CRC32 of the bytes, then
+ *                      records of one byte (1 add, 2 remove) and the
+ *                      zigzag-encoded int as a varint
+ * </pre>
+ *
+ * Sorted ints with small gaps take one or two bytes each in a snapshot, and a
+ * block fails its checksum rather than loading wrong data. Opening a store
+ * loads the newest snapshot and replays every log from its generation on,
+ * stopping at the first frame that is torn or fails its checksum, which can
+ * only be the tail of a write that was cut short.
+ *
+ * add and remove append a record to a buffer before changing the set; the
+ * buffer is written as a frame when it fills, and {@link #sync()} writes it
+ * and forces the log to disk. Only records before the last sync() are sure to
+ * survive a crash. Once the log has grown to half the size of the set (and at
+ * least a million records), the store starts a new log and writes a new
+ * snapshot on a background thread from a copy of the set; older snapshots and
+ * logs are deleted only once the new snapshot is complete on disk and the
+ * directory entry that names it has been forced to disk too.
+ *
+ * Every method is synchronized on the store. union, intersection and copy
+ * return a {@link RoaringSet} that is not persisted. Call {@link #close()}
+ * when done; it syncs the log and waits for any compaction to finish, and any
+ * later call on the store throws an IllegalStateException.
+ */
+
+public class SetStore implements Set<Integer>, Closeable {
+
+	/** instance variables */
+	private static final int SNAPSHOT_MAGIC = 0x4C555353;
+	private static final int LOG_MAGIC = 0x4C55534C;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 28;
+	private static final int LOG_HEADER_SIZE = 16;
+	private static final int BLOCK_SIZE = 4096;
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int MAX_RECORD = 6;
+	private static final byte ADD = 1;
+	private static final byte REMOVE = 2;
+	private static final long MIN_COMPACTION = 1 << 20;
+	private final Path directory;
+	private final ByteBuffer frame;
+	private RoaringSet state;
+	private long generation;
+	private FileChannel log;
+	private long records;
+	private Thread compaction;
+	private volatile IOException compactionError;
+	private boolean closed;
+
+	/** constructor */
+	private SetStore(Path d) {
+		directory = d;
+		frame = ByteBuffer.allocate(BUFFER_SIZE);
+	}
+
+	/**
+	 * Opens the store in a directory, creating the directory and an empty
+	 * store if there is none, and recovers the set from its newest snapshot
+	 * and logs.
+	 *
+	 * @param directoryName
+	 *            the directory of the store
+	 * @return the store
+	 * @throws IOException
+	 *             if the store cannot be read, or a snapshot is corrupt
+	 */
+	public static SetStore open(String directoryName) throws IOException {
+		SetStore store = new SetStore(Paths.get(directoryName));
+		Files.createDirectories(store.directory);
+		store.recover();
+		return store;
+	}
+
+	/**
+	 * Creates a store in a directory holding the elements of a set of
+	 * Integers, written directly as its first snapshot.
+	 *
+	 * @param directoryName
+	 *            the directory of the store, which must not hold a store yet
+	 * @param set
+	 *            the set whose elements are stored
+	 * @return the store, open
+	 * @throws IOException
+	 *             if the directory already holds a store, or the snapshot
+	 *             cannot be written
+	 */
+	public static SetStore create(String directoryName, Set<Integer> set)
+			throws IOException {
+		Path d = Paths.get(directoryName);
+		Files.createDirectories(d);
+		if (newest(d, "snapshot-") >= 0 || newest(d, "log-") >= 0)
+			throw new IOException("Directory already holds a set store: "
+					+ directoryName);
+		int[] values = ListCodec.sortedValues(set);
+		writeSnapshot(d, 0, values, values.length);
+		return open(directoryName);
+	}
+
+	/**
+	 * Calculates the size of the set.
+	 *
+	 * @return int representing the number of elements in the set
+	 */
+	public synchronized int size() {
+		checkOpen();
+		return state.size();
+	}
+
+	/**
+	 * Checks if the set is empty or not.
+	 *
+	 * @return true if the set is empty, false if the set is not empty
+	 */
+	public synchronized boolean isEmpty() {
+		checkOpen();
+		return state.isEmpty();
+	}
+
+	/**
+	 * Checks whether a specified Object is a member of the set or not.
+	 *
+	 * @param object
+	 *            the Object to check whether or not a member of the set
+	 * @return true if the Object is a member, false if the Object is not a
+	 *         member
+	 */
+	public synchronized boolean isMember(Object object) {
+		checkOpen();
+		return state.isMember(object);
+	}
+
+	/**
+	 * Checks whether an int is a member of the set or not.
+	 *
+	 * @param d
+	 *            the int to check
+	 * @return true if the int is a member, false if it is not
+	 */
+	public synchronized boolean isMember(int d) {
+		checkOpen();
+		return state.isMember(d);
+	}
+
+	/**
+	 * Creates a new {@link RoaringSet} with the union of this set and another
+	 * set. Does not modify the current set.
+	 *
+	 * @param otherSet
+	 *            set to union with
+	 * @return the union of this set and the other set
+	 */
+	public Set<Integer> union(Set<Integer> otherSet) {
+		Set<Integer> other = unwrap(otherSet);
+		synchronized (this) {
+			checkOpen();
+			return state.union(other);
+		}
+	}
+
+	/**
+	 * Creates a new {@link RoaringSet} with the intersection of this set and
+	 * another set. Does not modify the current set.
+	 *
+	 * @param otherSet
+	 *            set to intersect with
+	 * @return the intersection of this set and the other set
+	 */
+	public Set<Integer> intersection(Set<Integer> otherSet) {
+		Set<Integer> other = unwrap(otherSet);
+		synchronized (this) {
+			checkOpen();
+			return state.intersection(other);
+		}
+	}
+
+	/**
+	 * Creates a {@link RoaringSet} copy of the current set, which is not
+	 * persisted. Does not modify the current set.
+	 *
+	 * @return the copy of this set
+	 */
+	public synchronized Set<Integer> copy() {
+		checkOpen();
+		return state.copy();
+	}
+
+	/**
+	 * Adds an Integer to this set and logs it.
+	 *
+	 * @param object
+	 *            object to add
+	 * @throws UncheckedIOException
+	 *             if the log cannot be written
+	 */
+	public void add(Integer object) {
+		add(object.intValue());
+	}
+
+	/**
+	 * Adds an int to this set and logs it, if it is not already a member.
+	 *
+	 * @param d
+	 *            int to add
+	 * @throws UncheckedIOException
+	 *             if the log cannot be written
+	 */
+	public synchronized void add(int d) {
+		checkOpen();
+		if (state.isMember(d))
+			return;
+		append(ADD, d);
+		state.add(d);
+		compactIfDue();
+	}
+
+	/**
+	 * Removes an Object from this set and logs it. Does nothing if the Object
+	 * is not a member.
+	 *
+	 * @param object
+	 *            object to delete
+	 * @throws UncheckedIOException
+	 *             if the log cannot be written
+	 */
+	public void remove(Object object) {
+		if (object instanceof Integer)
+			remove(((Integer) object).intValue());
+	}
+
+	/**
+	 * Removes an int from this set and logs it. Does nothing if the int is
+	 * not a member.
+	 *
+	 * @param d
+	 *            int to delete
+	 * @throws UncheckedIOException
+	 *             if the log cannot be written
+	 */
+	public synchronized void remove(int d) {
+		checkOpen();
+		if (!state.isMember(d))
+			return;
+		append(REMOVE, d);
+		state.remove(d);
+		compactIfDue();
+	}
+
+	/**
+	 * Returns the {@link Iterator} that will iterate through the elements of
+	 * this set in ascending order, as they are now.
+	 *
+	 * @return {@link Iterator} for this set
+	 */
+	public synchronized Iterator<Integer> iterator() {
+		checkOpen();
+		return state.iterator();
+	}
+
+	/**
+	 * Creates an empty {@link RoaringSet}, which is not persisted. Does not
+	 * modify the current set.
+	 *
+	 * @return an empty set
+	 */
+	public Set<Integer> empty() {
+		return new RoaringSet();
+	}
+
+	/**
+	 * Creates a {@link SortedListSet} holding the elements of this set.
+	 *
+	 * @return the elements of this set as a {@link ListSet}
+	 */
+	public synchronized ListSet<Integer> toListSet() {
+		checkOpen();
+		return state.toListSet();
+	}
+
+	/**
+	 * Writes any buffered records to the log and forces the log to disk, so
+	 * that every change made so far survives a crash.
+	 *
+	 * @throws IOException
+	 *             if the log cannot be written, or the last compaction failed
+	 */
+	public synchronized void sync() throws IOException {
+		checkOpen();
+		writeFrame();
+		log.force(false);
+		throwCompactionError();
+	}
+
+	/**
+	 * Starts a new log and writes a snapshot of the set in the background,
+	 * unless a compaction is already running.
+	 *
+	 * @throws IOException
+	 *             if the new log cannot be started
+	 */
+	public synchronized void compact() throws IOException {
+		checkOpen();
+		if (compaction != null && compaction.isAlive())
+			return;
+		writeFrame();
+		log.force(false);
+		log.close();
+		generation++;
+		log = createLog(directory, generation);
+		records = 0;
+		compaction = new Thread(new Compaction(generation, state.toArray()),
+				"SetStore compaction");
+		compaction.setDaemon(true);
+		compaction.start();
+	}
+
+	/**
+	 * Syncs the log, waits for any compaction to finish and closes the store.
+	 * Does nothing if the store is already closed.
+	 *
+	 * @throws IOException
+	 *             if the log cannot be written, or the last compaction failed
+	 */
+	public synchronized void close() throws IOException {
+		if (closed)
+			return;
+		closed = true;
+		try {
+			writeFrame();
+			log.force(false);
+			log.close();
+			if (compaction != null)
+				compaction.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted waiting for compaction", e);
+		} finally {
+			state = null;
+		}
+		throwCompactionError();
+	}
+
+	/**
+	 * Creates a String version of this set.
+	 *
+	 * @return String representing this set
+	 */
+	public synchronized String toString() {
+		checkOpen();
+		return state.toString();
+	}
+
+	/**
+	 * Loads the newest snapshot, replays the logs after it and reopens the
+	 * newest log for appending, cut back to its last whole frame.
+	 */
+	private void recover() throws IOException {
+		deleteTemporary(directory);
+		long snapshot = newest(directory, "snapshot-");
+		long newestLog = newest(directory, "log-");
+		deleteOlder(directory, "snapshot-", snapshot);
+		deleteOlder(directory, "log-", snapshot);
+		state = snapshot < 0 ? new RoaringSet() : readSnapshot(directory,
+				snapshot);
+		generation = Math.max(Math.max(snapshot, newestLog), 0);
+		long valid = -1;
+		for (long g = Math.max(snapshot, 0); g <= newestLog; g++) {
+			Path file = directory.resolve("log-" + g);
+			if (Files.exists(file))
+				valid = replay(file, g);
+		}
+		if (newestLog == generation && valid >= LOG_HEADER_SIZE) {
+			log = FileChannel.open(directory.resolve("log-" + generation),
+					StandardOpenOption.WRITE);
+			log.truncate(valid);
+			log.position(valid);
+		} else
+			log = createLog(directory, generation);
+		compactIfDue();
+	}
+
+	/**
+	 * Applies the records of one log to the set and counts them, and returns
+	 * the length of the log up to the end of its last whole frame.
+	 */
+	private long replay(Path file, long g) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+			in.flip();
+			if (!fill(channel, in, LOG_HEADER_SIZE))
+				return 0;
+			if (in.getInt() != LOG_MAGIC || in.getInt() != VERSION
+					|| in.getLong() != g)
+				throw new IOException("Not a set store log: " + file);
+			long valid = LOG_HEADER_SIZE;
+			CRC32 crc = new CRC32();
+			while (fill(channel, in, 8)) {
+				int length = in.getInt();
+				int checksum = in.getInt();
+				if (length <= 0 || length > BUFFER_SIZE - 8
+						|| !fill(channel, in, length))
+					break;
+				crc.reset();
+				crc.update(in.array(), in.position(), length);
+				if ((int) crc.getValue() != checksum)
+					break;
+				int end = in.position() + length;
+				while (in.position() < end) {
+					byte op = in.get();
+					int d;
+					try {
+						d = ListCodec.unzigzag(ListCodec.getVarint(in));
+					} catch (IllegalArgumentException e) {
+						throw new IOException("Corrupt log record: " + file, e);
+					}
+					if (op != ADD && op != REMOVE)
+						throw new IOException("Corrupt log record: " + file);
+					if (op == ADD)
+						state.add(d);
+					else
+						state.remove(d);
+					records++;
+				}
+				valid += 8 + length;
+			}
+			return valid;
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Adds a record to the frame being built, first writing the frame out if
+	 * it is full.
+	 */
+	private void append(byte op, int d) {
+		if (frame.position() == 0)
+			frame.position(8);
+		if (frame.remaining() < MAX_RECORD)
+			try {
+				writeFrame();
+				frame.position(8);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		frame.put(op);
+		ListCodec.putVarint(frame, ListCodec.zigzag(d));
+		records++;
+	}
+
+	/**
+	 * Writes the frame being built to the log, with its length and checksum.
+	 */
+	private void writeFrame() throws IOException {
+		if (frame.position() <= 8) {
+			frame.clear();
+			return;
+		}
+		int length = frame.position() - 8;
+		CRC32 crc = new CRC32();
+		crc.update(frame.array(), 8, length);
+		frame.putInt(0, length);
+		frame.putInt(4, (int) crc.getValue());
+		frame.flip();
+		while (frame.hasRemaining())
+			log.write(frame);
+		frame.clear();
+	}
+
+	/**
+	 * Starts a compaction once the log has grown to half the size of the set,
+	 * and at least to the minimum number of records.
+	 */
+	private void compactIfDue() {
+		if (records < MIN_COMPACTION || records < state.size() / 2)
+			return;
+		try {
+			compact();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Throws, and forgets, the error of the last compaction if it failed.
+	 */
+	private void throwCompactionError() throws IOException {
+		IOException e = compactionError;
+		compactionError = null;
+		if (e != null)
+			throw new IOException("Compaction failed", e);
+	}
+
+	/**
+	 * Returns the contents of another SetStore, so that two stores are never
+	 * locked at once.
+	 */
+	private static Set<Integer> unwrap(Set<Integer> set) {
+		return set instanceof SetStore ? ((SetStore) set).copy() : set;
+	}
+
+	/**
+	 * Throws an IllegalStateException if the store has been closed.
+	 */
+	private void checkOpen() {
+		if (closed)
+			throw new IllegalStateException("set is closed");
+	}
+
+	/**
+	 * Writes the snapshot of a generation from a sorted copy of the set and
+	 * deletes every older snapshot and log, on a thread of its own.
+	 */
+	private class Compaction implements Runnable {
+
+		/** instance variables */
+		private final long snapshot;
+		private final int[] values;
+
+		/** constructor */
+		Compaction(long g, int[] v) {
+			snapshot = g;
+			values = v;
+		}
+
+		public void run() {
+			try {
+				writeSnapshot(directory, snapshot, values, values.length);
+				deleteOlder(directory, "snapshot-", snapshot);
+				deleteOlder(directory, "log-", snapshot);
+			} catch (IOException e) {
+				compactionError = e;
+			}
+		}
+	}
+
+	/**
+	 * Writes the first n ints of a sorted array without duplicates as the
+	 * snapshot of a generation: to a temporary file first, which is forced
+	 * to disk and then renamed, so a snapshot is either whole or absent. The
+	 * directory is forced after the rename, so that once this returns the
+	 * snapshot survives a crash and older files can be deleted.
+	 */
+	private static void writeSnapshot(Path directory, long g, int[] values,
+			int n) throws IOException {
+		Path tmp = directory.resolve("snapshot-" + g + ".tmp");
+		FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+			out.putInt(SNAPSHOT_MAGIC).putInt(VERSION).putLong(g).putLong(n)
+					.putInt(BLOCK_SIZE);
+			ByteBuffer block = ByteBuffer.allocate(12 + 5 * BLOCK_SIZE);
+			CRC32 crc = new CRC32();
+			for (int from = 0; from < n; from += BLOCK_SIZE) {
+				int to = Math.min(n, from + BLOCK_SIZE);
+				block.clear();
+				block.position(12);
+				for (int i = from; i < to; i++)
+					ListCodec.putVarint(block,
+							i == from ? ListCodec.zigzag(values[i])
+									: values[i] - values[i - 1]);
+				int length = block.position() - 12;
+				crc.reset();
+				crc.update(block.array(), 12, length);
+				block.putInt(0, to - from).putInt(4, length)
+						.putInt(8, (int) crc.getValue());
+				block.flip();
+				if (out.remaining() < block.remaining())
+					drain(channel, out);
+				out.put(block);
+			}
+			if (out.remaining() < 12)
+				drain(channel, out);
+			out.putInt(0).putInt(0).putInt(0);
+			drain(channel, out);
+			channel.force(true);
+		} finally {
+			channel.close();
+		}
+		Files.move(tmp, directory.resolve("snapshot-" + g),
+				StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		forceDirectory(directory);
+	}
+
+	/**
+	 * Reads the snapshot of a generation, checking every block's checksum.
+	 */
+	private static RoaringSet readSnapshot(Path directory, long g)
+			throws IOException {
+		Path file = directory.resolve("snapshot-" + g);
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+			in.flip();
+			if (!fill(channel, in, HEADER_SIZE)
+					|| in.getInt() != SNAPSHOT_MAGIC)
+				throw new IOException("Not a set store snapshot: " + file);
+			if (in.getInt() != VERSION || in.getLong() != g)
+				throw new IOException("Unsupported snapshot: " + file);
+			long count = in.getLong();
+			int blockSize = in.getInt();
+			if (count < 0 || count > Integer.MAX_VALUE - 8 || blockSize <= 0
+					|| 12L + 5L * blockSize > BUFFER_SIZE)
+				throw new IOException("Corrupt snapshot header: " + file);
+			int[] values = new int[(int) count];
+			int n = 0;
+			CRC32 crc = new CRC32();
+			while (true) {
+				if (!fill(channel, in, 12))
+					throw new IOException("Truncated snapshot: " + file);
+				int m = in.getInt();
+				int length = in.getInt();
+				int checksum = in.getInt();
+				if (m == 0)
+					break;
+				if (m < 0 || m > blockSize || m > count - n || length < m
+						|| length > 5 * m || !fill(channel, in, length))
+					throw new IOException("Corrupt snapshot block: " + file);
+				crc.reset();
+				crc.update(in.array(), in.position(), length);
+				if ((int) crc.getValue() != checksum)
+					throw new IOException("Snapshot checksum mismatch: "
+							+ file);
+				int end = in.position() + length;
+				try {
+					int d = ListCodec.unzigzag(ListCodec.getVarint(in));
+					values[n++] = d;
+					for (int i = 1; i < m; i++) {
+						d += ListCodec.getVarint(in);
+						values[n++] = d;
+					}
+				} catch (IllegalArgumentException e) {
+					throw new IOException("Corrupt snapshot block: " + file, e);
+				}
+				if (in.position() != end)
+					throw new IOException("Corrupt snapshot block: " + file);
+			}
+			if (n != count)
+				throw new IOException("Truncated snapshot: " + file);
+			return RoaringSet.fromArray(values, n);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Creates the log of a generation, holding only its header, and forces
+	 * both the log and the directory entry that names it to disk.
+	 */
+	private static FileChannel createLog(Path directory, long g)
+			throws IOException {
+		FileChannel channel = FileChannel.open(directory.resolve("log-" + g),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+		header.putInt(LOG_MAGIC).putInt(VERSION).putLong(g);
+		drain(channel, header);
+		channel.force(true);
+		forceDirectory(directory);
+		return channel;
+	}
+
+	/**
+	 * Forces the entries of a directory to disk, so that files created or
+	 * renamed in it are not lost in a crash.
+	 */
+	private static void forceDirectory(Path directory) throws IOException {
+		FileChannel channel = FileChannel.open(directory,
+				StandardOpenOption.READ);
+		try {
+			channel.force(true);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Finds the newest generation of the files with a prefix, or -1 if there
+	 * are none.
+	 */
+	private static long newest(Path directory, String prefix)
+			throws IOException {
+		long newest = -1;
+		DirectoryStream<Path> files = Files.newDirectoryStream(directory);
+		try {
+			for (Path file : files)
+				newest = Math.max(newest, generationOf(file, prefix));
+		} finally {
+			files.close();
+		}
+		return newest;
+	}
+
+	/**
+	 * Deletes the files with a prefix older than a generation.
+	 */
+	private static void deleteOlder(Path directory, String prefix, long g)
+			throws IOException {
+		DirectoryStream<Path> files = Files.newDirectoryStream(directory);
+		try {
+			for (Path file : files) {
+				long fileGeneration = generationOf(file, prefix);
+				if (fileGeneration >= 0 && fileGeneration < g)
+					Files.deleteIfExists(file);
+			}
+		} finally {
+			files.close();
+		}
+	}
+
+	/**
+	 * Deletes the temporary files of snapshots that were never finished.
+	 */
+	private static void deleteTemporary(Path directory) throws IOException {
+		DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+				"snapshot-*.tmp");
+		try {
+			for (Path file : files)
+				Files.deleteIfExists(file);
+		} finally {
+			files.close();
+		}
+	}
+
+	/**
+	 * Parses the generation from the name of a file with a prefix, or returns
+	 * -1 if the name is not the prefix followed by a number.
+	 */
+	private static long generationOf(Path file, String prefix) {
+		String name = file.getFileName().toString();
+		if (!name.startsWith(prefix) || name.length() == prefix.length())
+			return -1;
+		long g = 0;
+		for (int i = prefix.length(); i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (c < '0' || c > '9' || g > Long.MAX_VALUE / 10 - 1)
+				return -1;
+			g = 10 * g + (c - '0');
+		}
+		return g;
+	}
+
+	/**
+	 * Makes sure a buffer being read holds at least the given number of
+	 * bytes, reading more from the channel if needed. Returns false if the
+	 * channel ends first.
+	 */
+	private static boolean fill(FileChannel channel, ByteBuffer in, int bytes)
+			throws IOException {
+		if (in.remaining() >= bytes)
+			return true;
+		in.compact();
+		while (in.position() < bytes) {
+			if (channel.read(in) < 0) {
+				in.flip();
+				return false;
+			}
+		}
+		in.flip();
+		return true;
+	}
+
+	/**
+	 * Writes out everything in a buffer being written and clears it.
+	 */
+	private static void drain(FileChannel channel, ByteBuffer out)
+			throws IOException {
+		out.flip();
+		while (out.hasRemaining())
+			channel.write(out);
+		out.clear();
+	}
+
+}
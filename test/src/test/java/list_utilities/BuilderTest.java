@@ -0,0 +1,79 @@
+/**********************************************
+ * BuilderTest.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@link BuilderTest} class tests {@link ListBuilder} and
+ * {@link ListSetBuilder}, including their use after build().
+ */
+public class BuilderTest {
+
+	@Test
+	public void buildsListsInOrder() {
+		ListBuilder<Integer> builder = new ListBuilder<Integer>(1);
+		builder.add(3).add(1).addAll(ImmutableList.parseIntList("4 1 5"));
+		builder.addAll(builder);
+		assertEquals(10, builder.length());
+		assertEquals("(3 1 4 1 5 3 1 4 1 5)", builder.build().toString());
+	}
+
+	@Test
+	public void buildsSortedSets() {
+		ListSetBuilder<Integer> builder = new ListSetBuilder<Integer>();
+		builder.add(3).add(1).addAll(ImmutableList.parseIntList("4 1 5"));
+		ListSetBuilder<Integer> other = new ListSetBuilder<Integer>();
+		other.add(9).add(2);
+		builder.addAll(other);
+		assertEquals("{1 2 3 4 5 9}", builder.build().toString());
+		assertEquals("{2 9}", other.build().toString());
+	}
+
+	@Test
+	public void listBuilderCannotBeUsedAfterBuild() {
+		ListBuilder<Integer> built = new ListBuilder<Integer>();
+		built.add(1).build();
+		ListBuilder<Integer> builder = new ListBuilder<Integer>();
+		try {
+			builder.addAll(built);
+			fail("added a built list");
+		} catch (IllegalStateException e) {
+		}
+		try {
+			built.add(2);
+			fail("added to a built list");
+		} catch (IllegalStateException e) {
+		}
+		try {
+			built.build();
+			fail("built a list twice");
+		} catch (IllegalStateException e) {
+		}
+		assertEquals("()", builder.build().toString());
+	}
+
+	@Test
+	public void listSetBuilderCannotBeUsedAfterBuild() {
+		ListSetBuilder<Integer> built = new ListSetBuilder<Integer>();
+		built.add(1).build();
+		ListSetBuilder<Integer> builder = new ListSetBuilder<Integer>();
+		try {
+			builder.addAll(built);
+			fail("added a built set");
+		} catch (IllegalStateException e) {
+		}
+		try {
+			built.add(2);
+			fail("added to a built set");
+		} catch (IllegalStateException e) {
+		}
+		assertEquals("{}", builder.build().toString());
+	}
+}
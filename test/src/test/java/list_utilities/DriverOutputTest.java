@@ -0,0 +1,61 @@
+/**********************************************
+ * DriverOutputTest.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@link DriverOutputTest} class runs the {@link ListSetTest} driver on
+ * the sample input from readMe.txt and checks its required output.
+ */
+public class DriverOutputTest {
+
+	/**
+	 * Runs the driver with IO.stdout redirected.
+	 *
+	 * @return everything the driver printed
+	 */
+	private static String run(String... args)
+			throws UnsupportedEncodingException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream stdout = IO.stdout;
+		IO.stdout = new PrintStream(bytes, true, "UTF-8");
+		try {
+			ListSetTest.main(args);
+		} finally {
+			IO.stdout = stdout;
+		}
+		return bytes.toString("UTF-8");
+	}
+
+	@Test
+	public void requiredOutput() throws UnsupportedEncodingException {
+		String output = run("4", "8", "5", "2", "9", "7", "5", "6", "9");
+		assertTrue(output.contains("Immutable list is: (2 4 5 6 7 8 9)"),
+				output);
+		assertTrue(output.contains("Set is: {4 8 2 9 7 5 6}"), output);
+	}
+
+	@Test
+	public void additionalOutput() throws UnsupportedEncodingException {
+		String output = run("4", "8", "5", "2", "9", "7", "5", "6", "9");
+		assertTrue(output.contains("Size of Set: 7"), output);
+		assertTrue(output.contains("Is 4 a member of the Set? true"), output);
+		assertTrue(output.contains("Is 48 a member of the Set? false"),
+				output);
+		assertTrue(output.contains(
+				"Union with Set {5 10 4 3 7}: {4 8 2 9 7 5 6 10 3}"), output);
+		assertTrue(output.contains("Remove 7 from the Set: {4 8 2 9 5 6 10}"),
+				output);
+		assertTrue(output.contains("Set next: 4"), output);
+	}
+}
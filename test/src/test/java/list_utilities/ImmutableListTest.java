@@ -0,0 +1,105 @@
+/**********************************************
+ * ImmutableListTest.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@link ImmutableListTest} class tests the list operations of
+ * {@link ImmutableList} on short lists, and checks that none of the
+ * operations that walk the whole list recurse down it.
+ */
+public class ImmutableListTest {
+
+	/** instance variables */
+	private static final int LONG_LENGTH = 1000000;
+
+	@Test
+	public void parsesAndPrints() {
+		ImmutableList<Integer> list = ImmutableList.parseIntList("4 8 5 2");
+		assertEquals("(4 8 5 2)", list.toString());
+		assertEquals(4, list.length());
+		assertEquals("()", ImmutableList.nil().toString());
+	}
+
+	@Test
+	public void pushAppendAndReverse() {
+		ImmutableList<Integer> list = ImmutableList.parseIntList("1 2 3");
+		assertEquals("(0 1 2 3)", list.push(0).toString());
+		assertEquals("(1 2 3 1 2 3)", list.append(list).toString());
+		assertEquals("(3 2 1)", list.reverse().toString());
+		assertEquals("(1 2 3)", list.toString());
+	}
+
+	@Test
+	public void findNthDeleteAndInsert() {
+		ImmutableList<Integer> list = ImmutableList.parseIntList("1 3 5");
+		assertEquals("(3 5)", list.find(3).toString());
+		assertTrue(list.find(4).isEmpty());
+		assertEquals(Integer.valueOf(5), list.nth(2));
+		assertNull(list.nth(3));
+		assertEquals("(1 5)", list.delete(3).toString());
+		assertSame(list, list.delete(4));
+		assertEquals("(1 3 4 5)", list.insert(4).toString());
+	}
+
+	@Test
+	public void purgeAndMergesort() {
+		ImmutableList<Integer> list = ImmutableList
+				.parseIntList("4 8 5 2 9 7 5 6 9");
+		assertEquals("(4 8 5 2 9 7 6)", list.purge().toString());
+		assertEquals("(2 4 5 5 6 7 8 9 9)", list.mergesort().toString());
+		assertEquals("(2 4 5 6 7 8 9)", list.purge().mergesort().toString());
+	}
+
+	@Test
+	public void equalsAndHashCode() {
+		ImmutableList<Integer> a = ImmutableList.parseIntList("1 2 3");
+		ImmutableList<Integer> b = ImmutableList.parseIntList("1 2 3");
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+		assertTrue(!a.equals(a.reverse()));
+	}
+
+	/**
+	 * Runs every operation that walks the whole list on a list of a million
+	 * elements. The tests run with a 256k thread stack, so any of them that
+	 * recursed down the list would overflow it.
+	 */
+	@Test
+	public void longListsDoNotOverflowTheStack() {
+		int n = LONG_LENGTH;
+		ImmutableList<Integer> list = ImmutableList.nil();
+		ImmutableList<Integer> copy = ImmutableList.nil();
+		for (int i = n - 1; i >= 0; i--) {
+			list = list.push(i);
+			copy = copy.push(i);
+		}
+		assertEquals(n, list.length());
+		assertEquals(Integer.valueOf(n - 1), list.find(n - 1).head());
+		assertTrue(list.find(n).isEmpty());
+		ImmutableList<Integer> appended = list.append(list);
+		assertEquals(2 * n, appended.length());
+		assertEquals(Integer.valueOf(n - 1), appended.nth(2 * n - 1));
+		ImmutableList<Integer> reversed = list.reverse();
+		assertEquals(Integer.valueOf(n - 1), reversed.head());
+		assertEquals(Integer.valueOf(0), reversed.nth(n - 1));
+		assertNull(list.nth(n));
+		ImmutableList<Integer> deleted = list.delete(n - 1);
+		assertEquals(n - 1, deleted.length());
+		assertSame(list, list.delete(n));
+		ImmutableList<Integer> inserted = list.insert(n);
+		assertEquals(Integer.valueOf(n), inserted.nth(n));
+		assertEquals(list, copy);
+		assertTrue(!list.equals(reversed));
+		assertTrue(list.toString().endsWith(" " + (n - 1) + ")"));
+	}
+}
@@ -0,0 +1,64 @@
+/**********************************************
+ * PersistentVectorTest.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@link PersistentVectorTest} class tests {@link PersistentVector},
+ * including vectors deep enough to need several levels of the tree.
+ */
+public class PersistentVectorTest {
+
+	/**
+	 * Creates the vector 0, 1, ..., n - 1.
+	 */
+	private static PersistentVector<Integer> upTo(int n) {
+		PersistentVector<Integer> v = PersistentVector.empty();
+		for (int i = 0; i < n; i++)
+			v = v.push(i);
+		return v;
+	}
+
+	@Test
+	public void pushesAtTheEnd() {
+		PersistentVector<Integer> v = PersistentVector.parseIntList("4 8 5");
+		assertEquals("(4 8 5 2)", v.push(2).toString());
+		assertEquals("(4 8 5)", v.toString());
+		assertEquals(ImmutableList.parseIntList("4 8 5"), v.toList());
+		assertEquals("(x)", PersistentVector.list("x").toString());
+	}
+
+	@Test
+	public void findsEveryElement() {
+		PersistentVector<Integer> v = upTo(40000);
+		int sum = 0;
+		for (int i = 0; i < v.length(); i++) {
+			int d = v.nth(i);
+			assertEquals(i, d);
+			sum += d;
+		}
+		assertEquals(40000 * 39999 / 2, sum);
+		assertNull(v.nth(-1));
+		assertNull(v.nth(40000));
+	}
+
+	@Test
+	public void appendsVectors() {
+		int[] sizes = { 0, 1, 31, 32, 33, 1025, 40000 };
+		for (int a : sizes) {
+			for (int b : sizes) {
+				PersistentVector<Integer> v = upTo(a).append(upTo(b));
+				assertEquals(a + b, v.length());
+				for (int i = 0; i < v.length(); i++)
+					assertEquals(i < a ? i : i - a, (int) v.nth(i));
+			}
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/**********************************************
+ * SetOperationsTest.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@link SetOperationsTest} class tests membership, add, remove, union and
+ * intersection on every in-memory {@link Set}, including union and
+ * intersection between sets of different classes.
+ */
+public class SetOperationsTest {
+
+	/** instance variables */
+	private static final String ELEMENTS = "4 8 5 2 9 7 5 6 9";
+	private static final String OTHERS = "5 10 4 3 7";
+
+	/**
+	 * Creates one set of each class holding the ints of a String.
+	 */
+	private static List<Set<Integer>> sets(String s) {
+		ImmutableList<Integer> a = ImmutableList.parseIntList(s);
+		List<Set<Integer>> sets = new ArrayList<Set<Integer>>();
+		sets.add(new ListSet<Integer>(a.purge()));
+		sets.add(new SortedListSet<Integer>(a));
+		sets.add(new HashSet<Integer>(a));
+		sets.add(new IntSet(IntImmutableList.parseIntList(s)));
+		sets.add(new ConcurrentListSet<Integer>(a));
+		StripedIntSet striped = new StripedIntSet();
+		for (ImmutableList<Integer> l = a; !l.isEmpty(); l = l.tail())
+			striped.add(l.head());
+		sets.add(striped);
+		sets.add(new RoaringSet(IntImmutableList.parseIntList(s)));
+		sets.add(new OffHeapIntSet(IntImmutableList.parseIntList(s)));
+		return sets;
+	}
+
+	/**
+	 * Lists the elements of a set in ascending order.
+	 */
+	private static List<Integer> sorted(Set<Integer> set) {
+		List<Integer> elements = new ArrayList<Integer>();
+		for (Integer d : set)
+			elements.add(d);
+		Collections.sort(elements);
+		return elements;
+	}
+
+	private static List<Integer> ints(int... values) {
+		List<Integer> list = new ArrayList<Integer>();
+		for (int d : values)
+			list.add(d);
+		return list;
+	}
+
+	@Test
+	public void membership() {
+		for (Set<Integer> set : sets(ELEMENTS)) {
+			String name = set.getClass().getSimpleName();
+			assertEquals(7, set.size(), name);
+			assertFalse(set.isEmpty(), name);
+			assertTrue(set.isMember(4), name);
+			assertFalse(set.isMember(48), name);
+			assertTrue(set.empty().isEmpty(), name);
+			assertEquals(ints(2, 4, 5, 6, 7, 8, 9), sorted(set.copy()), name);
+		}
+	}
+
+	@Test
+	public void addAndRemove() {
+		for (Set<Integer> set : sets(ELEMENTS)) {
+			String name = set.getClass().getSimpleName();
+			set.add(10);
+			set.remove(7);
+			set.remove(48);
+			assertEquals(ints(2, 4, 5, 6, 8, 9, 10), sorted(set), name);
+		}
+	}
+
+	@Test
+	public void unionAndIntersectionAcrossClasses() {
+		for (Set<Integer> set : sets(ELEMENTS)) {
+			for (Set<Integer> other : sets(OTHERS)) {
+				String name = set.getClass().getSimpleName() + " with "
+						+ other.getClass().getSimpleName();
+				assertEquals(ints(2, 3, 4, 5, 6, 7, 8, 9, 10), sorted(set
+						.union(other)), name);
+				assertEquals(ints(4, 5, 7), sorted(set.intersection(other)),
+						name);
+				assertEquals(7, set.size(), name);
+			}
+		}
+	}
+
+	@Test
+	public void zeroAcrossClasses() {
+		for (Set<Integer> set : sets("0 1 2")) {
+			for (Set<Integer> other : sets("3 0")) {
+				String name = set.getClass().getSimpleName() + " with "
+						+ other.getClass().getSimpleName();
+				assertEquals(ints(0, 1, 2, 3), sorted(set.union(other)), name);
+				assertEquals(ints(0), sorted(set.intersection(other)), name);
+			}
+		}
+	}
+}
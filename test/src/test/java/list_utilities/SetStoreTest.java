@@ -0,0 +1,138 @@
+/**********************************************
+ * SetStoreTest.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The {@link SetStoreTest} class tests the binary formats of the io module:
+ * the {@link ListCodec} encoding, {@link MappedIntSet} set files and
+ * {@link SetStore} directories.
+ */
+public class SetStoreTest {
+
+	/** instance variables */
+	@TempDir
+	Path directory;
+
+	/**
+	 * Creates the list 0, -1, 2, -3, ... of n ints, ending with the smallest
+	 * and largest ints.
+	 */
+	private static ImmutableList<Integer> mixed(int n) {
+		ListBuilder<Integer> builder = new ListBuilder<Integer>();
+		for (int i = 0; i < n; i++)
+			builder.add(i % 2 == 0 ? i : -i);
+		builder.add(Integer.MIN_VALUE);
+		builder.add(Integer.MAX_VALUE);
+		return builder.build();
+	}
+
+	@Test
+	public void codecRoundTrip() throws IOException {
+		ImmutableList<Integer> list = mixed(10000);
+		byte[] bytes = ListCodec.encode(list);
+		assertEquals(list, ListCodec.decode(bytes));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ListCodec.write(list, out);
+		assertTrue(Arrays.equals(bytes, out.toByteArray()));
+		assertEquals(list, ListCodec.read(new ByteArrayInputStream(out
+				.toByteArray())));
+		try {
+			ListCodec.decode(Arrays.copyOf(bytes, 100));
+			fail("decoded a truncated list");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			ListCodec.read(new ByteArrayInputStream(Arrays.copyOf(bytes,
+					100)));
+			fail("read a truncated list");
+		} catch (IOException e) {
+		}
+	}
+
+	/**
+	 * Encodes and stores a set whose size() reports fewer elements than its
+	 * iterator returns, as a set shared with other threads can.
+	 */
+	@Test
+	public void setsThatGrowWhileCopied() throws IOException {
+		Set<Integer> set = new HashSet<Integer>(mixed(1000)) {
+			public int size() {
+				return 1;
+			}
+		};
+		String expected = new SortedListSet<Integer>(mixed(1000)).toString();
+		assertEquals(expected, ListCodec.decodeSet(ListCodec.encode(set))
+				.toString());
+		SetStore store = SetStore.create(directory.toString(), set);
+		try {
+			assertEquals(1002, store.size());
+		} finally {
+			store.close();
+		}
+	}
+
+	@Test
+	public void setFileRoundTrip() throws IOException {
+		String file = directory.resolve("set").toString();
+		MappedIntSet.write(file, mixed(5000));
+		MappedIntSet set = MappedIntSet.open(file);
+		assertEquals(5002, set.size());
+		assertTrue(set.isMember(4998));
+		assertTrue(set.isMember(-4999));
+		assertTrue(set.isMember(Integer.MIN_VALUE));
+		assertFalse(set.isMember(1));
+		assertEquals(new SortedListSet<Integer>(mixed(5000)).toString(), set
+				.toString());
+		set.close();
+		set.close();
+		assertEquals("{closed}", set.toString());
+		try {
+			set.isMember(4998);
+			fail("used a closed set file");
+		} catch (IllegalStateException e) {
+		}
+		MappedIntSet.write(file, mixed(10));
+		try (MappedIntSet rewritten = MappedIntSet.open(file)) {
+			assertEquals(12, rewritten.size());
+		}
+	}
+
+	@Test
+	public void storeSurvivesReopen() throws IOException {
+		String name = directory.toString();
+		SetStore store = SetStore.create(name, new SortedListSet<Integer>(
+				mixed(1000)));
+		store.add(1);
+		store.remove(0);
+		store.compact();
+		store.add(3);
+		store.close();
+		store = SetStore.open(name);
+		try {
+			assertEquals(1003, store.size());
+			assertTrue(store.isMember(1));
+			assertTrue(store.isMember(3));
+			assertFalse(store.isMember(0));
+			assertTrue(store.isMember(Integer.MAX_VALUE));
+		} finally {
+			store.close();
+		}
+	}
+}
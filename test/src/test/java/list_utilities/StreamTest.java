@@ -0,0 +1,80 @@
+/**********************************************
+ * StreamTest.java
+ * @author SarahGreen
+ *********************************************/
+
+package list_utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@link StreamTest} class tests streams over an {@link ImmutableList},
+ * the collectors of {@link ListCollectors}, sequential and parallel, and the
+ * lazy steps of a {@link ListView}.
+ */
+public class StreamTest {
+
+	/** instance variables */
+	private static final Function<Integer, Integer> HALF;
+	private static final Predicate<Integer> EVEN;
+
+	static {
+		HALF = new Function<Integer, Integer>() {
+			public Integer apply(Integer d) {
+				return d / 2;
+			}
+		};
+		EVEN = new Predicate<Integer>() {
+			public boolean test(Integer d) {
+				return d % 2 == 0;
+			}
+		};
+	}
+
+	/**
+	 * Creates the list 0, 1, ..., n - 1.
+	 */
+	private static ImmutableList<Integer> upTo(int n) {
+		ListBuilder<Integer> builder = new ListBuilder<Integer>(n);
+		for (int i = 0; i < n; i++)
+			builder.add(i);
+		return builder.build();
+	}
+
+	@Test
+	public void collectsLists() {
+		ImmutableList<Integer> list = upTo(100000);
+		assertEquals(list, list.stream().collect(ListCollectors
+				.<Integer> toList()));
+		assertEquals(list, list.parallelStream().collect(ListCollectors
+				.<Integer> toList()));
+	}
+
+	@Test
+	public void collectsSets() {
+		ImmutableList<Integer> list = ImmutableList.parseIntList("4 8 5 2 9");
+		assertEquals("{2 4 1}", list.stream().map(HALF).collect(
+				ListCollectors.<Integer> toListSet()).toString());
+		assertEquals("{1 2 4}", list.stream().map(HALF).collect(
+				ListCollectors.<Integer> toSortedListSet()).toString());
+		assertEquals(50000, upTo(100000).parallelStream().map(HALF).collect(
+				ListCollectors.<Integer> toSortedListSet()).size());
+		assertEquals(50000, upTo(100000).parallelStream().map(HALF).collect(
+				ListCollectors.<Integer> toHashSet()).size());
+	}
+
+	@Test
+	public void viewsFuseTheirSteps() {
+		ImmutableList<Integer> list = upTo(20);
+		ListView<Integer> view = list.view().filter(EVEN).map(HALF).drop(2)
+				.take(5);
+		assertEquals("(2 3 4 5 6)", view.toList().toString());
+		assertEquals(5, view.length());
+		assertEquals(upTo(20), list);
+	}
+}